@@ -0,0 +1,48 @@
+/*
+ *  This file is part of the initial project provided for the
+ *  course "Project in Software Development (02362)" held at
+ *  DTU Compute at the Technical University of Denmark.
+ *
+ *  Copyright (C) 2019, 2020: Ekkart Kindler, ekki@dtu.dk
+ *
+ *  This software is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; version 2 of the License.
+ *
+ *  This project is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this project; if not, write to the Free Software
+ *  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package dk.dtu.compute.se.pisd.designpatterns.observer;
+
+/**
+ * A descriptor of what changed in a subject, which a subject can pass to its
+ * observers along with the notification (see {@link Observer#update(Subject, Change)}).
+ * This way, an observer can update only the parts of its state which depend on
+ * the change. Concrete subjects define their own descriptors, typically as
+ * constants of an enum implementing this interface.
+ *
+ * @author Ekkart Kindler, ekki@dtu.dk
+ *
+ */
+public interface Change {
+
+	/**
+	 * The descriptor of a change which is not described any further; an
+	 * observer notified with this descriptor must assume that anything
+	 * of the subject could have changed.
+	 */
+	Change ANY = new Change() {
+		@Override
+		public String toString() {
+			return "ANY";
+		}
+	};
+
+}
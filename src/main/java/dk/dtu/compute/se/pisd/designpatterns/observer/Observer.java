@@ -40,4 +40,19 @@ public interface Observer {
 	 */
 	void update(Subject subject);
 
+	/**
+	 * The observer's update method, which is called, when the subject
+	 * changes, with a descriptor of what changed. Observers which can
+	 * make use of the descriptor override this method; by default, it
+	 * just calls {@link #update(Subject)}, so that existing observers
+	 * keep working.
+	 *
+	 * @param subject the subject which changed
+	 * @param change the descriptor of the change ({@link Change#ANY} if
+	 *               the change is not described any further)
+	 */
+	default void update(Subject subject, Change change) {
+		update(subject);
+	}
+
 }
@@ -21,13 +21,8 @@
  */
 package dk.dtu.compute.se.pisd.designpatterns.observer;
 
-import com.google.gson.annotations.Expose;
-
-import java.util.Collections;
-import java.util.Set;
-import java.util.WeakHashMap;
-
-// import java.util.HashSet;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
 
 /**
  * This is the subject of the observer design pattern roughly following
@@ -38,19 +33,90 @@ import java.util.WeakHashMap;
  */
 public abstract class Subject {
 
-	private Set<Observer> observers =
-			Collections.newSetFromMap(new WeakHashMap<>());
+	private volatile WeakReference<?>[] observers;
 	// Note: In JavaFX, the views do not have a way to know when they are
 	// removed from the window, and therefore cannot always unregister
 	// themselves from subjects they observe before the views become garbage.
-	// Therefore, the set of observers are maintained as a weak set, so
-	// that these observers are implicitly removed, when the observers
-	// would be garbage (if not for these references)!
+	// Therefore, the observers are referenced weakly only, so that these
+	// observers are implicitly removed, when the observers would be garbage
+	// (if not for these references)! The references to the observers are
+	// kept in an array, which is just large enough for the observers (most
+	// subjects have no or one or two observers); the array is allocated only
+	// when the first observer registers. The array is never changed once
+	// it is assigned; attaching or detaching an observer assigns a new array
+	// (copy on write), so that the observers can be notified without any
+	// iterator and without being disturbed by observers attaching or
+	// detaching during the notification. References to observers which
+	// became garbage are removed while notifying the observers.
+
+	// The batch of the thread in which this subject changed last (if that batch
+	// is not committed yet) and the position of the subject in that batch. This
+	// is a hint only, which allows a batch to find a subject in constant time;
+	// if the subject changes in the batches of several threads at the same time,
+	// the other batches look for the subject in their list of changed subjects.
+	private Batch pendingBatch;
+
+	private int pendingIndex;
+
+	/**
+	 * The subjects which changed in the currently open batch of the current
+	 * thread (see {@link #beginBatch()}), together with the descriptors of
+	 * their changes. Since every thread has a batch of its own, a subject which
+	 * changes in the batches of two threads is notified once by each of them.
+	 * The arrays are reused, so that batching does not allocate anything once
+	 * the arrays have grown to the size needed.
+	 */
+	private static final class Batch {
+		int depth = 0;
+		boolean flushing = false;
+		Subject[] changed = new Subject[16];
+		Change[] changes = new Change[16];
+		int size = 0;
 
+		int indexOf(Subject subject) {
+			for (int i = 0; i < size; i++) {
+				if (changed[i] == subject) {
+					return i;
+				}
+			}
+			return -1;
+		}
+	}
 
+	private static final ThreadLocal<Batch> batches = ThreadLocal.withInitial(Batch::new);
 
-	final public void attach(Observer observer) {
-		observers.add(observer);
+	/**
+	 * This methods allows an observer to register with the subject,
+	 * so that it is notified of the changes of the subject. Registering
+	 * an observer which is registered already has no effect.
+	 *
+	 * @param observer the observer who registers
+	 */
+	final public synchronized void attach(Observer observer) {
+		WeakReference<?>[] current = observers;
+		if (current == null) {
+			observers = new WeakReference<?>[] { new WeakReference<>(observer) };
+			observedChanged();
+			return;
+		}
+		int free = -1;
+		for (int i = 0; i < current.length; i++) {
+			Object registered = current[i].get();
+			if (registered == observer) {
+				return;
+			} else if (registered == null && free < 0) {
+				free = i;
+			}
+		}
+		WeakReference<?>[] changed;
+		if (free >= 0) {
+			changed = current.clone();
+		} else {
+			free = current.length;
+			changed = Arrays.copyOf(current, current.length + 1);
+		}
+		changed[free] = new WeakReference<>(observer);
+		observers = changed;
 	}
 	
 	/**
@@ -59,18 +125,206 @@ public abstract class Subject {
 	 * 
 	 * @param observer the observer who unregisters
 	 */
-	final public void detach(Observer observer) {
-		observers.remove(observer);
+	final public synchronized void detach(Observer observer) {
+		WeakReference<?>[] current = observers;
+		if (current == null) {
+			return;
+		}
+		for (int i = 0; i < current.length; i++) {
+			if (current[i].get() == observer) {
+				if (current.length == 1) {
+					observers = null;
+					observedChanged();
+				} else {
+					WeakReference<?>[] changed = new WeakReference<?>[current.length - 1];
+					System.arraycopy(current, 0, changed, 0, i);
+					System.arraycopy(current, i + 1, changed, i, changed.length - i);
+					observers = changed;
+				}
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Removes the references to observers which became garbage, provided that
+	 * the observers were not changed concurrently in the meantime.
+	 *
+	 * @param expected the array of references from which the stale references
+	 *                 are removed
+	 */
+	private synchronized void removeStaleObservers(WeakReference<?>[] expected) {
+		if (observers != expected) {
+			return;
+		}
+		WeakReference<?>[] live = new WeakReference<?>[expected.length];
+		int size = 0;
+		for (WeakReference<?> reference : expected) {
+			if (reference.get() != null) {
+				live[size++] = reference;
+			}
+		}
+		observers = size == 0 ? null : Arrays.copyOf(live, size);
+		if (size == 0) {
+			observedChanged();
+		}
+	}
+
+	/**
+	 * Returns whether this subject has observers (which might have become
+	 * garbage without being removed yet).
+	 *
+	 * @return true if observers are registered with this subject
+	 */
+	final protected boolean isObserved() {
+		return observers != null;
+	}
+
+	/**
+	 * This method is called when the first observer registers with this
+	 * subject and when the last observer is removed again (see
+	 * {@link #isObserved()}). Concrete subclasses can override it, in order
+	 * to keep themselves reachable while they are observed.
+	 */
+	protected void observedChanged() {
 	}
 	
 	/**
 	 * This method must be called from methods of concrete subclasses
 	 * of this subject class whenever its state is changed (in a way
-	 * relevant for the observer).
+	 * relevant for the observer). Within a batch (see {@link #beginBatch()}),
+	 * the observers are not notified right away; they are notified once
+	 * when the batch is committed.
 	 */
 	final protected void notifyChange() {
-		for (Observer observer: observers) {
-			observer.update(this);
+		notifyChange(Change.ANY);
+	}
+
+	/**
+	 * This method must be called from methods of concrete subclasses
+	 * of this subject class whenever its state is changed (in a way
+	 * relevant for the observer), with a descriptor of what changed.
+	 * Within a batch (see {@link #beginBatch()}), the observers are not
+	 * notified right away; they are notified once when the batch is
+	 * committed, with the descriptor of the change if all changes of
+	 * the subject in the batch had the same descriptor, and with
+	 * {@link Change#ANY} otherwise.
+	 *
+	 * @param change the descriptor of the change
+	 */
+	final protected void notifyChange(Change change) {
+		if (observers == null) {
+			// nobody to notify, which is the case for most cards
+			return;
+		}
+		Batch batch = batches.get();
+		if (batch.depth > 0) {
+			Batch hint = pendingBatch;
+			int i;
+			if (hint == batch) {
+				i = pendingIndex;
+			} else if (hint == null) {
+				i = -1;
+			} else {
+				// pending in the batch of another thread
+				i = batch.indexOf(this);
+			}
+			if (i < 0) {
+				if (batch.size == batch.changed.length) {
+					batch.changed = Arrays.copyOf(batch.changed, 2 * batch.size);
+					batch.changes = Arrays.copyOf(batch.changes, 2 * batch.size);
+				}
+				if (hint == null) {
+					pendingBatch = batch;
+					pendingIndex = batch.size;
+				}
+				batch.changed[batch.size] = this;
+				batch.changes[batch.size++] = change;
+			} else if (batch.changes[i] != change) {
+				batch.changes[i] = Change.ANY;
+			}
+		} else {
+			notifyObservers(change);
+		}
+	}
+
+	private void notifyObservers(Change change) {
+		WeakReference<?>[] current = observers;
+		if (current == null) {
+			return;
+		}
+		boolean stale = false;
+		for (WeakReference<?> reference : current) {
+			Observer observer = (Observer) reference.get();
+			if (observer != null) {
+				observer.update(this, change);
+			} else {
+				stale = true;
+			}
+		}
+		if (stale) {
+			removeStaleObservers(current);
+		}
+	}
+
+	/**
+	 * Opens a batch of changes for the current thread. Until the batch is
+	 * committed again (see {@link #commitBatch()}), the changes of subjects
+	 * are only recorded; when the batch is committed, each subject which
+	 * changed notifies its observers exactly once, and subjects which did
+	 * not change do not notify their observers at all. This way, an operation
+	 * that changes the same subjects several times, like executing a command
+	 * card or a complete register, results in one update of each observer only.
+	 * Batches can be nested; the observers are notified when the outermost
+	 * batch is committed. Every call of this method must be followed by a call
+	 * of {@link #commitBatch()}, typically in a finally block.
+	 */
+	public static void beginBatch() {
+		batches.get().depth++;
+	}
+
+	/**
+	 * Commits the batch of changes opened by the last call of {@link #beginBatch()}
+	 * in the current thread. When the outermost batch is committed, the observers of
+	 * all subjects which changed in the batch are notified (once per subject).
+	 *
+	 * @throws IllegalStateException if there is no open batch
+	 */
+	public static void commitBatch() {
+		Batch batch = batches.get();
+		if (batch.depth == 0) {
+			throw new IllegalStateException("There is no open batch which could be committed!");
+		}
+		batch.depth--;
+		if (batch.depth == 0 && !batch.flushing) {
+			batch.flushing = true;
+			try {
+				// observers might change subjects again while being notified;
+				// changes made in batches of their own are appended to this
+				// batch and notified by this loop as well.
+				for (int i = 0; i < batch.size; i++) {
+					Subject subject = batch.changed[i];
+					Change change = batch.changes[i];
+					batch.changed[i] = null;
+					batch.changes[i] = null;
+					if (subject.pendingBatch == batch) {
+						subject.pendingBatch = null;
+					}
+					subject.notifyObservers(change);
+				}
+			} finally {
+				for (int i = 0; i < batch.size; i++) {
+					if (batch.changed[i] != null) {
+						if (batch.changed[i].pendingBatch == batch) {
+							batch.changed[i].pendingBatch = null;
+						}
+						batch.changed[i] = null;
+						batch.changes[i] = null;
+					}
+				}
+				batch.size = 0;
+				batch.flushing = false;
+			}
 		}
 	}
 
@@ -25,6 +25,7 @@ import dk.dtu.compute.se.pisd.roborally.controller.AppController;
 import dk.dtu.compute.se.pisd.roborally.controller.GameController;
 import dk.dtu.compute.se.pisd.roborally.model.Player;
 import dk.dtu.compute.se.pisd.roborally.view.BoardView;
+import dk.dtu.compute.se.pisd.roborally.view.ImageCache;
 import dk.dtu.compute.se.pisd.roborally.view.MapSelection;
 import dk.dtu.compute.se.pisd.roborally.view.RoboRallyMenuBar;
 import javafx.application.Application;
@@ -61,6 +62,8 @@ public class RoboRally extends Application {
     private final ImageView imgMode = new ImageView();
     private final ImageView youWinImageView = new ImageView();
     private Scene primaryScene;
+    private BoardView.Renderer boardRenderer = BoardView.Renderer.NODES;
+    private BoardView boardView;
 
     /**
      * Initializes the application before the start method is called. This is where
@@ -71,6 +74,18 @@ public class RoboRally extends Application {
     @Override
     public void init() throws Exception {
         super.init();
+        // the board is rendered on a single canvas, when the application is
+        // started with the named parameter --renderer=canvas
+        String renderer = getParameters().getNamed().get("renderer");
+        if (renderer != null) {
+            try {
+                boardRenderer = BoardView.Renderer.valueOf(renderer.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                Logger.getLogger(RoboRally.class.getName()).log(Level.WARNING,
+                        "Unknown renderer " + renderer + "; the board is rendered with "
+                                + BoardView.Renderer.NODES.name().toLowerCase());
+            }
+        }
     }
 
     /**
@@ -117,10 +132,11 @@ public class RoboRally extends Application {
     public void createBoardView(GameController gameController) {
         // if present, remove old BoardView
         boardRoot.getChildren().clear();
+        boardView = null;
 
         if (gameController != null) {
             // create and add view for new board
-            BoardView boardView = new BoardView(gameController);
+            boardView = new BoardView(gameController, boardRenderer);
             //gameController.setBoardView(boardView);
             boardView.setId("board");
             boardRoot.setCenter(boardView);
@@ -223,6 +239,19 @@ public class RoboRally extends Application {
         }
     }
 
+    /**
+     * Shows that the laser of a robot hit another robot on the current board view.
+     * @param shooter the player whose robot fired the laser
+     * @param target the player whose robot was hit
+     */
+    public void displayRobotHit(Player shooter, Player target) {
+        Platform.runLater(() -> {
+            if (boardView != null) {
+                boardView.showRobotHit(shooter, target);
+            }
+        });
+    }
+
     public void displayWinner(Player winner) {
         Platform.runLater(() -> {
             boardRoot.getChildren().clear();  // Clear current UI components
@@ -243,7 +272,7 @@ public class RoboRally extends Application {
             Label winnerLabel = new Label(winner.getName().toUpperCase());
             winnerLabel.setId("winner-label");
 
-            Image playerImage = new Image(Objects.requireNonNull(getClass().getResourceAsStream("/robot-" + winner.getColor() + ".png")));
+            Image playerImage = ImageCache.get("/robot-" + winner.getColor() + ".png", 100, 100);
             ImageView imageView = new ImageView(playerImage);
             imageView.setRotate(180);
             imageView.setFitHeight(100);
@@ -66,7 +66,7 @@ import java.io.IOException;
  * facilitate the game's overall functionality and flow.
  * @author Ekkart Kindler, ekki@dtu.dk
  */
-public class AppController implements Observer {
+public class AppController implements Observer, GameEventListener {
 
     final private List<Integer> PLAYER_NUMBER_OPTIONS = Arrays.asList(2, 3, 4, 5, 6);
     final private List<String> PLAYER_COLORS = Arrays.asList("red", "green", "blue", "orange", "grey", "magenta");
@@ -389,10 +389,16 @@ public class AppController implements Observer {
         }
     }
 
+    @Override
     public void announceWinner(Player winner) {
         roboRally.displayWinner(winner);  // Delegate to RoboRally to update UI
     }
 
+    @Override
+    public void robotHit(Player shooter, Player target) {
+        roboRally.displayRobotHit(shooter, target);
+    }
+
     /**
      * Responds to updates from subjects this observer is observing. Currently does nothing.
      *
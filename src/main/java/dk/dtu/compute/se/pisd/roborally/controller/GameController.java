@@ -22,37 +22,98 @@
  */
 package dk.dtu.compute.se.pisd.roborally.controller;
 
+import dk.dtu.compute.se.pisd.designpatterns.observer.Subject;
 import dk.dtu.compute.se.pisd.roborally.model.*;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
 
-import dk.dtu.compute.se.pisd.roborally.view.BoardView;
-import dk.dtu.compute.se.pisd.roborally.view.SpaceView;
-import javafx.scene.image.Image;
-import org.jetbrains.annotations.NotNull;
-
 /**
  * The GameController class is responsible for managing the game logic and state transitions
  * within the RoboRally game. It coordinates the execution of game phases, handling player
  * commands, and updating the game board. The GameController interacts closely with model
  * classes such as Board, Player, and CommandCard to reflect the game's current state.
+ * The controller does not depend on JavaFX; events for the application are reported
+ * to an (optional) {@link GameEventListener}, so that the game can also run headless.
  * @author Ekkart Kindler, ekki@dtu.dk
  */
 public class GameController {
+
+    /**
+     * The commands of the programming cards, i.e. all commands except for the
+     * damage and upgrade cards, and the commands of the upgrade cards.
+     */
+    private static final Command[] PROGRAM_COMMANDS = Arrays.stream(Command.values())
+            .filter(command -> command != Command.SPAM
+                    && command != Command.RAMMINGGEAR
+                    && command != Command.RECHARGE)
+            .toArray(Command[]::new);
+    private static final Command[] UPGRADE_COMMANDS = {Command.RECHARGE, Command.RAMMINGGEAR};
+
+    /**
+     * The activation phases in their order, and the types of the board elements
+     * of each phase (indexed by the ordinal of the phase), so that activating the
+     * spaces does not copy or iterate over the sets of the phases.
+     */
+    private static final ActivationPhase[] PHASES = ActivationPhase.values();
+    private static final ActionField[][] PHASE_TYPES = Arrays.stream(PHASES)
+            .map(phase -> phase.getTypes().toArray(new ActionField[0]))
+            .toArray(ActionField[][]::new);
+
     private boolean gearPhase = true;
-    private AppController appController;
+    private GameEventListener listener;
+    private boolean winnerAnnounced;
+    private Player[] registerPlayers = new Player[0];
+    // the interactive cards of the current register which still wait for
+    // the choice of their player; the lasers fire when the last one is resolved
+    private int pendingInteractions;
+    private Space[] activeSpaces = new Space[16];
     public Board board;
-    private BoardView boardView;
 
     /**
-     * Constructs a GameController with the specified game board.
+     * The seed of the random numbers of this game, and the generator from which
+     * the decks of the game split their own generators (see {@link #splitRandom()}).
+     */
+    private final long seed;
+    private final SplittableRandom random;
+
+    /**
+     * Constructs a GameController with the specified game board, which reports
+     * the game events to the given listener. The random numbers of the game are
+     * generated from the given seed, so that a game with the same seed and the
+     * same moves of the players can be replayed exactly.
      *
      * @param board the game board that this controller will manage
+     * @param listener the listener for the game events, or null if there is none
+     * @param seed the seed of the random numbers of the game
      */
-    public GameController(@NotNull Board board, AppController appController) {
+    public GameController(@NotNull Board board, GameEventListener listener, long seed) {
         this.board = board;
-        this.appController = appController;
+        this.listener = listener;
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Constructs a GameController with the specified game board, which reports
+     * the game events to the given listener. The seed of the random numbers of
+     * the game is chosen at random (see {@link #getSeed()}).
+     *
+     * @param board the game board that this controller will manage
+     * @param listener the listener for the game events, or null if there is none
+     */
+    public GameController(@NotNull Board board, GameEventListener listener) {
+        this(board, listener, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructs a headless GameController with the specified game board, which
+     * does not report game events to anyone.
+     *
+     * @param board the game board that this controller will manage
+     */
+    public GameController(@NotNull Board board) {
+        this(board, null);
     }
 
     /**
@@ -71,11 +132,14 @@ public class GameController {
                 currentPlayer.setSpace(space);
             }
         }
-        if (board.getPlayers()
-                 .stream()
-                 .map(Player::getSpace)
-                 .map(Space::getType)
-                 .allMatch(ActionField.STARTING_GEAR::equals)) {
+        boolean allOnStartingGears = true;
+        for (int i = 0; i < board.getPlayerAmount(); i++) {
+            if (board.getPlayer(i).getSpace().getType() != ActionField.STARTING_GEAR) {
+                allOnStartingGears = false;
+                break;
+            }
+        }
+        if (allOnStartingGears) {
             gearPhase = !gearPhase;
         }
     }
@@ -86,46 +150,84 @@ public class GameController {
      * for the round. This method sets up the game board and players for the programming phase.
      */
     public void startProgrammingPhase() {
-        board.setPhase(Phase.PROGRAMMING);
-        board.setStep(0);
+        Subject.beginBatch();
+        try {
+            board.setPhase(Phase.PROGRAMMING);
+            board.setStep(0);
+
+            for (int i = 0; i < board.getPlayerAmount(); i++) {
+                Player player = board.getPlayer(i);
+                for (int j = 0; j < Player.NO_REGISTERS; j++) {
+                    CommandCardField field = player.getProgramField(j);
+                    field.setCard(null);
+                    field.setVisible(true);
+                }
+                for (int j = 0; j < Player.NO_CARDS; j++) {
+                    CommandCardField field = player.getCardField(j);
+                    field.setCard(player.getDeck().deal());
+                    field.setVisible(true);
+                }
+            }
+        } finally {
+            Subject.commitBatch();
+        }
+    }
+
+    /**
+     * Returns the seed of the random numbers of this game, with which the game
+     * can be replayed.
+     *
+     * @return the seed of the game
+     */
+    public long getSeed() {
+        return seed;
+    }
 
-        board.getPlayers().forEach(player -> {
-            player.getProgramFields().forEach(field -> {
-                field.setCard(null);
-                field.setVisible(true);
-            });
-            player.getCardFields().forEach(field -> {
-                field.setCard(player.getDeck().deal());
-                field.setVisible(true);
-            });
-        });
+    /**
+     * Returns a new generator of random numbers, which is split from the generator
+     * of this game. Each deck has its own generator, so that the decks do not
+     * share a generator (e.g. when games are simulated in parallel), and the
+     * random numbers of the game still depend on its seed only.
+     *
+     * @return a new generator of random numbers
+     */
+    public SplittableRandom splitRandom() {
+        return random.split();
     }
 
     // XXX: implemented in the current version
     public CommandCard generateRandomCommandCard() {
-        ArrayList<Command> damageCards = new ArrayList<>(List.of(
-                Command.SPAM,
-                Command.RAMMINGGEAR,
-                Command.RECHARGE
-        ));
-        ArrayList<Command> commands = new ArrayList<>(List.of(Command.values()));
-        commands.removeAll(damageCards);
+        return generateRandomCommandCard(random);
+    }
 
-        int random = (int) (Math.random() * commands.size());
-        return new CommandCard(commands.get(random), "program");
+    /**
+     * Generates a random programming card, using the given generator of random numbers.
+     *
+     * @param random the generator of random numbers
+     * @return the new card
+     */
+    public CommandCard generateRandomCommandCard(@NotNull SplittableRandom random) {
+        return CommandCard.of(PROGRAM_COMMANDS[random.nextInt(PROGRAM_COMMANDS.length)], "program");
     }
 
 
     // Helper-method to generate a damage-card
     public CommandCard generateDamageCard() {
-        return new CommandCard(Command.SPAM, "damage");
+        return CommandCard.of(Command.SPAM, "damage");
     }
 
     public CommandCard generateUpgradeCard() {
-        List<Command> upgrades = List.of(Command.RECHARGE, Command.RAMMINGGEAR);
+        return generateUpgradeCard(random);
+    }
 
-        int random = (int) (Math.random() * upgrades.size());
-        return new CommandCard(upgrades.get(random), "upgrade");
+    /**
+     * Generates a random upgrade card, using the given generator of random numbers.
+     *
+     * @param random the generator of random numbers
+     * @return the new card
+     */
+    public CommandCard generateUpgradeCard(@NotNull SplittableRandom random) {
+        return CommandCard.of(UPGRADE_COMMANDS[random.nextInt(UPGRADE_COMMANDS.length)], "upgrade");
     }
 
 
@@ -148,93 +250,100 @@ public class GameController {
      * one step in the activation phase, executing the command in the current register for each player.
      */
     public void executeRegister() {
-        this.board.getCurrentPlayer().incrementEnergy(1);
-        makeProgramFieldsVisible(board.getStep() + 1);
-
-        if(board.getPhase() == Phase.ACTIVATION) {
-            board.getPlayers().forEach(player -> {
-                int step = board.getStep();
-                if (step >= 0 && step < Player.NO_REGISTERS) {
-                    player.getProgramField(step).getCard().ifPresent(card -> {
-                        if (card.command.isInteractive()) {
-                            // Set to interaction phase, but don't advance the step
-                            board.setPhase(Phase.PLAYER_INTERACTION);
-                            // Interaction handling will occur here (show dialog, etc.)
-                        } else {
-                            // Execute non-interactive command
-                            executeCommand(player, card.command);
-                            // Optionally wait for user to trigger next step manually
-                            // If automatically proceeding:
+        Subject.beginBatch();
+        try {
+            this.board.getCurrentPlayer().incrementEnergy(1);
+            makeProgramFieldsVisible(board.getStep() + 1);
+
+            if(board.getPhase() == Phase.ACTIVATION) {
+                // the priority antenna may change the order of the players while
+                // the register is executed, so the order is taken before
+                int count = board.getPlayerAmount();
+                if (registerPlayers.length < count) {
+                    registerPlayers = new Player[count];
+                }
+                board.getPlayersView().toArray(registerPlayers);
+                for (int i = 0; i < count; i++) {
+                    Player player = registerPlayers[i];
+                    int step = board.getStep();
+                    if (step >= 0 && step < Player.NO_REGISTERS) {
+                        CommandCard card = player.getProgramField(step).getCardOrNull();
+                        if (card != null) {
+                            if (card.command.isInteractive()) {
+                                // Set to interaction phase, but don't advance the step
+                                board.setPhase(Phase.PLAYER_INTERACTION);
+                                pendingInteractions++;
+                                // Interaction handling will occur here (show dialog, etc.)
+                            } else {
+                                // Execute non-interactive command
+                                executeCommand(player, card.command);
+                                // Optionally wait for user to trigger next step manually
+                                // If automatically proceeding:
+                            }
                         }
-                    });
+                    }
                 }
-            });
-        }
+                if (pendingInteractions == 0) {
+                    fireLasers();
+                }
+            }
 
-        advanceStep();
-        //activateRobotLasers();
-        discardCards();
+            advanceStep();
+            discardCards();
 
 
+        } finally {
+            Subject.commitBatch();
+        }
     }
 
     private void discardCards() {
-        board.getPlayers().forEach(player -> {
-            player.getProgramFields().forEach(field -> {
-                field.getCard().ifPresent(player.getDeck()::sendToDiscardPile);
-            });
-            player.getCardFields().forEach(field -> {
-                field.getCard().ifPresent(player.getDeck()::sendToDiscardPile);
-            });
-        });
-    }
-
-//    private void activateRobotLasers() {
-//        Set<ActionField> invalidValues = new HashSet<>();
-//        invalidValues.add(ActionField.WALL);
-//        invalidValues.add(ActionField.BOARD_LASER_START);
-//        invalidValues.add(ActionField.BOARD_LASER_END);
-//        invalidValues.add(ActionField.PRIORITY_ANTENNA);
-//
-//        for (int i = 0; i < board.getPlayerAmount(); i++) {
-//            Player p = board.getPlayer(i);
-//            Space s = p.getSpace();
-//            SpaceView[][] spaces = boardView.getSpaceViews();
-//            int x = p.getSpace().x;
-//            int y = p.getSpace().y;
-//
-//            while (board.getSpace(x,y).getType() != null && !invalidValues.contains(board.getSpace(x,y).getType())){
-//                if ((x >= 0 && x < board.width) && (y >= 0 && y < board.height)) {
-////                    //PHASE = PROGRAMMING | LASERS = OFF
-////                    if(board.getPhase() == Phase.PROGRAMMING){
-////                        spaces[x][y].setAltImage("/" + board.getSpace(x,y).getType() + ".png");
-////                        spaces[x][y].setChangeImage(true);
-////                    }
-//
-//                    //PHASE = ACTIVATION | LASERS = ON
-//                    if(board.getPhase() == Phase.ACTIVATION && !p.getSpace().equals(s)){
-//                        spaces[x][y].setAltImage("/" + "BOARD_LASER" + ".png");
-//                        spaces[x][y].setChangeImage(true);
-//                    }
-//                }
-//
-//                switch (p.getHeading()) {
-//                    case NORTH:
-//                        y--;
-//                        break;
-//                    case EAST:
-//                        x++;
-//                        break;
-//                    case SOUTH:
-//                        y++;
-//                        break;
-//                    case WEST:
-//                        x--;
-//                        break;
-//                }
-//            }
-//        }
-//    }
+        for (int i = 0; i < board.getPlayerAmount(); i++) {
+            Player player = board.getPlayer(i);
+            for (int j = 0; j < Player.NO_REGISTERS; j++) {
+                CommandCard card = player.getProgramField(j).getCardOrNull();
+                if (card != null) {
+                    player.getDeck().sendToDiscardPile(card);
+                }
+            }
+            for (int j = 0; j < Player.NO_CARDS; j++) {
+                CommandCard card = player.getCardField(j).getCardOrNull();
+                if (card != null) {
+                    player.getDeck().sendToDiscardPile(card);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fires the lasers of all robots at the same time. The laser of a robot shoots
+     * in the robot's heading and hits the first robot in sight (see
+     * {@link Board#getRobotInSight(int, int, Heading)}); walls stop the laser.
+     * Each hit robot gets a damage card, and the hit is reported to the listener
+     * (see {@link GameEventListener#robotHit(Player, Player)}), so that the view
+     * can show it.
+     *
+     * @return the number of hits
+     */
+    public int activateRobotLasers() {
+        int hits = 0;
+        for (int i = 0; i < board.getPlayerAmount(); i++) {
+            Player shooter = board.getPlayer(i);
+            Space space = shooter.getSpace();
+            if (space == null) {
+                continue;
+            }
+            Player target = board.getRobotInSight(space.x, space.y, shooter.getHeading());
+            if (target != null) {
+                target.takeDamage();
+                hits++;
+                if (listener != null) {
+                    listener.robotHit(shooter, target);
+                }
+            }
+        }
+        return hits;
+    }
 
     /**
      * Advances the game to the next step in the activation phase.
@@ -251,28 +360,124 @@ public class GameController {
         }
     }
 
+    /**
+     * Returns the player who won the game by reaching the last checkpoint first
+     * (see {@link Board#getWinner()}).
+     *
+     * @return the winner, or an empty optional if no player has won yet
+     */
     public Optional<Player> getWinner() {
-        int checkpoints = (int) board
-                .getSpacesList()
-                .stream()
-                .map(Space::getType)
-                .filter(ActionField.CHECKPOINT::equals)
-                .count();
+        return Optional.ofNullable(board.getWinner());
+    }
 
-        return board.getPlayers().stream().filter(player -> player.getIndex() == checkpoints).findAny();
+    /**
+     * Fires the board lasers and then the lasers of the robots (see
+     * {@link BoardLasers#fire(Board)} and {@link #activateRobotLasers()}). The lasers
+     * fire once per register, after the cards of all players were executed, and not
+     * after each card; if a card of the register is interactive, the lasers fire
+     * only after its player has chosen the command (see
+     * {@link #executeCommandOptionAndContinue(Player, Command)}).
+     */
+    public void fireLasers() {
+        board.getLasers().fire(board);
+        activateRobotLasers();
     }
 
+    /**
+     * Activates the board elements which are occupied by a robot, phase by phase
+     * in the order of the rulebook (see {@link ActivationPhase}); spaces without
+     * a robot do not have any effect. The lasers are not fired here, since they
+     * fire once per register only (see {@link #fireLasers()}).
+     */
     public void activateSpaces() {
-        board.getSpacesList().forEach(Space::activate);
+        for (ActivationPhase phase : PHASES) {
+            if (phase != ActivationPhase.LASERS) {
+                activatePhase(phase);
+            }
+        }
+    }
+
+    /**
+     * Activates the board elements of the given phase which are occupied by a robot.
+     * The belts and gears move all their robots at the same time, with the conflicts
+     * between the robots resolved as in the rulebook (see
+     * {@link ElementTransitions#applySimultaneously(Board, ActivationPhase)}), and
+     * the board lasers and the lasers of the robots fire (see {@link #fireLasers()}).
+     * For the other phases, depending on which
+     * are fewer, either the spaces of the robots or the board elements of the phase
+     * are looked at. The spaces are activated in the order in which they are scanned
+     * (column by column), and each space which held a robot when the phase started
+     * is activated exactly once.
+     *
+     * @param phase the phase of the board elements to be activated
+     */
+    public void activatePhase(@NotNull ActivationPhase phase) {
+        if (phase.isSimultaneous()) {
+            board.getTransitions().applySimultaneously(board, phase);
+            return;
+        }
+        if (phase == ActivationPhase.LASERS) {
+            fireLasers();
+            return;
+        }
+        ActionField[] types = PHASE_TYPES[phase.ordinal()];
+        int occupied = board.getOccupiedCount();
+        int elements = 0;
+        for (ActionField type : types) {
+            elements += board.getElementCount(type);
+        }
+        // the spaces are collected before any of them is activated, since the
+        // robots moved by the activation change the index of the occupied spaces
+        int count = 0;
+        if (occupied <= elements) {
+            ensureActiveSpaces(occupied);
+            for (int i = 0; i < occupied; i++) {
+                Space space = board.getOccupiedSpace(i);
+                if (phase.includes(space.getType())) {
+                    activeSpaces[count++] = space;
+                }
+            }
+        } else {
+            ensureActiveSpaces(elements);
+            for (ActionField type : types) {
+                for (int i = 0, n = board.getElementCount(type); i < n; i++) {
+                    Space space = board.getElement(type, i);
+                    if (space.getPlayer() != null) {
+                        activeSpaces[count++] = space;
+                    }
+                }
+            }
+            if (types.length > 1) {
+                Arrays.sort(activeSpaces, 0, count, Board::scanOrder);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            activeSpaces[i].activate();
+            activeSpaces[i] = null;
+        }
+    }
+
+    private void ensureActiveSpaces(int capacity) {
+        if (activeSpaces.length < capacity) {
+            activeSpaces = new Space[Math.max(capacity, 2 * activeSpaces.length)];
+        }
     }
 
     private void makeProgramFieldsVisible(int register) {
-        if (register >= 0 && register < Player.NO_REGISTERS)
-            board.getPlayers().forEach(player -> player.getProgramField(register).setVisible(true));
+        if (register >= 0 && register < Player.NO_REGISTERS) {
+            for (int i = 0; i < board.getPlayerAmount(); i++) {
+                board.getPlayer(i).getProgramField(register).setVisible(true);
+            }
+        }
     }
 
     private void makeProgramFieldsInvisible() {
-        board.getPlayers().stream().flatMap(player -> player.getProgramFields().stream()).forEach(field -> field.setVisible(false));
+        for (int i = 0; i < board.getPlayerAmount(); i++) {
+            Player player = board.getPlayer(i);
+            for (int j = 0; j < Player.NO_REGISTERS; j++) {
+                player.getProgramField(j).setVisible(false);
+            }
+        }
     }
 
     /**
@@ -310,24 +515,29 @@ public class GameController {
             if (board.getPhase() == Phase.ACTIVATION && currentPlayer != null) {
                 int step = board.getStep();
                 if (step >= 0 && step < Player.NO_REGISTERS) {
-                    currentPlayer.getProgramField(step).getCard().ifPresent(card -> {
+                    CommandCard card = currentPlayer.getProgramField(step).getCardOrNull();
+                    if (card != null) {
                         Command command = card.command;
                         if (command.isInteractive()) {
-                            // Switch to interactive mode and break loop
+                            // Switch to interactive mode and stop further execution
+                            // to wait for user input; the lasers fire when the
+                            // choice was made (see executeCommandOptionAndContinue)
                             board.setPhase(Phase.PLAYER_INTERACTION);
-                            return;  // Stop further execution to wait for user input
+                            pendingInteractions++;
+                            return;
                         } else {
                             // Execute non-interactive command
                             executeCommand(currentPlayer, command);
                         }
-                    });
+                    }
 
                     // Move to the next player
                     int nextPlayerNumber = board.getPlayerNumber(currentPlayer) + 1;
                     if (nextPlayerNumber < board.getPlayersNumber()) {
                         board.setCurrentPlayer(board.getPlayer(nextPlayerNumber));
                     } else {
-                        // Last player, move to next step or end of the cycle
+                        // Last player, the lasers fire and then move to next step or end of the cycle
+                        fireLasers();
                         step++;
                         if (step < Player.NO_REGISTERS) {
                             makeProgramFieldsVisible(step);
@@ -353,6 +563,10 @@ public class GameController {
     public void executeCommandOptionAndContinue(@NotNull Player player, Command command) {
         // Execute the selected command
         executeCommand(player, command);
+        if (pendingInteractions > 0 && --pendingInteractions == 0) {
+            // this was the last card of the register to be resolved
+            fireLasers();
+        }
 
         // After executing the command, check if we need to progress the step or end the interactive phase
         board.setPhase(Phase.ACTIVATION);
@@ -371,150 +585,72 @@ public class GameController {
     }
 
     void executeCommand(@NotNull Player player, Command command) {
-        if (player.board == board && command != null) {
-            // Handle different commands
-            switch (command) {
-                case FORWARD:
-                    this.moveForward(player, 1, true);
-                    break;
-                case FORWARD1:
-                    this.moveForward(player, 2, true);
-                    break;
-                case FORWARD2:
-                    this.moveForward(player, 3, true);
-                    break;
-                case Back:
-                    this.moveForward(player, 1, false);
-                    break;
-                case RIGHT:
-                case UTURN:
-                    this.turnRight(player);
-                    break;
-                case LEFT:
-                    this.turnLeft(player);
-                    break;
-                case Again:
-                    // Execute the previous command again
-                    if (board.getStep() - 1 >= 0) {
-                        player.getProgramField(board.getStep() - 1).getCard().ifPresent(card -> executeCommand(player, card.command));
-                    }
-                default:
-                    // DO NOTHING (for now)
+        Subject.beginBatch();
+        try {
+            if (player.board == board && command != null) {
+                // Handle different commands
+                switch (command) {
+                    case FORWARD:
+                        this.moveForward(player, 1, true);
+                        break;
+                    case FORWARD1:
+                        this.moveForward(player, 2, true);
+                        break;
+                    case FORWARD2:
+                        this.moveForward(player, 3, true);
+                        break;
+                    case Back:
+                        this.moveForward(player, 1, false);
+                        break;
+                    case RIGHT:
+                        this.turnRight(player);
+                        break;
+                    case UTURN:
+                        this.turnRight(player);
+                        this.turnRight(player);
+                        break;
+                    case LEFT:
+                        this.turnLeft(player);
+                        break;
+                    case Again:
+                        // Execute the previous command again
+                        if (board.getStep() - 1 >= 0) {
+                            player.getProgramField(board.getStep() - 1).getCard().ifPresent(card -> executeCommand(player, card.command));
+                        }
+                    default:
+                        // DO NOTHING (for now)
+                }
             }
-        }
-        // Activate all spaces
-        for (int i = 0; i < board.width; i++) {
-            for (int j = 0; j < board.height; j++) {
-                board.getSpace(i, j).activate();
+            activateSpaces();
+
+            Player winner = board.getWinner();
+            if (winner != null && !winnerAnnounced) {
+                winnerAnnounced = true;
+                if (listener != null) {
+                    listener.announceWinner(winner);
+                }
             }
+        } finally {
+            Subject.commitBatch();
         }
-
-        getWinner().ifPresent(appController::announceWinner);
     }
 
     /**
-     * Moves the player's robot forward by one space, if possible, based on the robot's current heading and position.
+     * Moves the player's robot forward (or backward) by the given number of spaces, as far
+     * as possible, based on the robot's current heading and position. A robot in the way is
+     * pushed, if the space behind it is free (see {@link Board#moveRobot(Player, Heading, int)}).
      *
      * @param player the player whose robot should move forward
+     * @param numSpaces the number of spaces to move
+     * @param forward true to move forward, false to move backward
      */
     public void moveForward(Player player, int numSpaces, boolean forward) {
         if (player == null) return;
 
-        Space currentSpace = player.getSpace();
-        int newX = currentSpace.x;
-        int newY = currentSpace.y;
-        int directionMultiplier = forward ? 1 : -1;  // Positive for forward, negative for backward
-
-        for (int i = 0; i < Math.abs(numSpaces); i++) {
-            // Calculate the new position based on the player's heading and the direction multiplier
-            switch (player.getHeading()) {
-                case NORTH:
-                    newY -= directionMultiplier;
-                    break;
-                case EAST:
-                    newX += directionMultiplier;
-                    break;
-                case SOUTH:
-                    newY += directionMultiplier;
-                    break;
-                case WEST:
-                    newX -= directionMultiplier;
-                    break;
-            }
-
-            // Check if the new position is within board limits
-            if (newX < 0 || newX >= board.width || newY < 0 || newY >= board.height) {
-                System.out.println("Move stopped: Reached board limits.");
-                return;
-            }
-
-            Space nextSpace = board.getSpace(newX, newY);
-
-            // Check if the next space is a wall
-            if (nextSpace.getType() == ActionField.WALL) {
-                System.out.println("Move stopped: Wall ahead.");
-                return;
-            }
-
-            if (nextSpace.getPlayer() != null) {
-                // Attempt to push the player at nextPosition
-                Player otherPlayer = nextSpace.getPlayer();
-                if (canPush(otherPlayer, player.getHeading(), forward)) {
-                    // Move the current player to the next space after pushing
-                    currentSpace.setPlayer(null);
-                    nextSpace.setPlayer(player);
-                    player.setSpace(nextSpace);
-                } else {
-                    System.out.println("Move stopped: Cannot push player.");
-                    return;
-                }
-            } else {
-                // Move the current player to the next space
-                currentSpace.setPlayer(null);
-                nextSpace.setPlayer(player);
-                player.setSpace(nextSpace);
-            }
-        }
-    }
-
-    private boolean canPush (Player player, Heading heading,boolean forward){
-        Space currentSpace = player.getSpace();
-        int newX = currentSpace.x;
-        int newY = currentSpace.y;
-        int directionMultiplier = forward ? 1 : -1;  // Positive for forward, negative for backward
-
-        // Calculate the position to which the player would be pushed
-        switch (heading) {
-            case NORTH:
-                newY -= directionMultiplier;
-                break;
-            case EAST:
-                newX += directionMultiplier;
-                break;
-            case SOUTH:
-                newY += directionMultiplier;
-                break;
-            case WEST:
-                newX -= directionMultiplier;
-                break;
-        }
-
-        if (newX < 0 || newX >= board.width || newY < 0 || newY >= board.height) {
-            return false;  // Return false if out of bounds
-        }
-
-        Space nextSpace = board.getSpace(newX, newY);
-        if (nextSpace.isOccupiable() && nextSpace.getPlayer() == null && nextSpace.getType() != ActionField.WALL) {
-            // Push the player to the new space if it is empty and not a wall
-            currentSpace.setPlayer(null);
-            nextSpace.setPlayer(player);
-            player.setSpace(nextSpace);
-            return true;
-        }
-        return false;
+        Heading heading = player.getHeading();
+        board.moveRobot(player, forward ? heading : heading.opposite(), Math.abs(numSpaces));
     }
 
-
     public void moveTo (Player player,int x, int y){
         Space nextSpace = board.getSpace(x, y);
         player.setSpace(nextSpace);
@@ -543,7 +679,7 @@ public class GameController {
                 CommandCardField field = player.getCardField(j);
                 CommandCardField otherField = otherPlayer.getCardField(j);
                 otherField.getCard().ifPresent(card -> {
-                    field.setCard(new CommandCard(card.command, "program"));
+                    field.setCard(CommandCard.of(card.command, "program"));
                     field.setVisible(true);
                 });
             }
@@ -551,7 +687,7 @@ public class GameController {
                 CommandCardField field = player.getProgramField(k);
                 CommandCardField otherField = otherPlayer.getProgramField(k);
                 otherField.getCard().ifPresent(card -> {
-                    field.setCard(new CommandCard(card.command, "program"));
+                    field.setCard(CommandCard.of(card.command, "program"));
                     field.setVisible(true);
                 });
             }
@@ -560,7 +696,7 @@ public class GameController {
                 CommandCardField field = player.getUpgradeField(k);
                 CommandCardField otherField = otherPlayer.getUpgradeField(k);
                 otherField.getCard().ifPresent(card -> {
-                    field.setCard(new CommandCard(card.command, "upgrade"));
+                    field.setCard(CommandCard.of(card.command, "upgrade"));
                     field.setVisible(true);
                 });
             }
@@ -569,7 +705,7 @@ public class GameController {
                 CommandCardField field = player.getUpgradeInv(k);
                 CommandCardField otherField = otherPlayer.getUpgradeInv(k);
                 otherField.getCard().ifPresent(card -> {
-                    field.setCard(new CommandCard(card.command, "upgrade"));
+                    field.setCard(CommandCard.of(card.command, "upgrade"));
                     field.setVisible(true);
                 });
             }
@@ -582,13 +718,7 @@ public class GameController {
      */
     public void turnRight (Player player){
         Heading heading = player.getHeading();
-        board.getCurrentPlayer().getProgramField(board.getStep()).getCard().ifPresent(card -> {
-            if (card.getName().equals("U-Turn")) {
-                player.setHeading(heading.next().next());
-            } else {
-                player.setHeading(heading.next());
-            }
-        });
+        player.setHeading(heading.next());
     }
 
     /**
@@ -0,0 +1,55 @@
+
+/*
+ *  This file is part of the initial project provided for the
+ *  course "Project in Software Development (02362)" held at
+ *  DTU Compute at the Technical University of Denmark.
+ *
+ *  Copyright (C) 2019, 2020: Ekkart Kindler, ekki@dtu.dk
+ *
+ *  This software is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; version 2 of the License.
+ *
+ *  This project is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this project; if not, write to the Free Software
+ *  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package dk.dtu.compute.se.pisd.roborally.controller;
+
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+
+/**
+ * Receives the events which the {@link GameController} raises while running the
+ * game. This is the adapter between the game engine and the application: the
+ * {@link AppController} implements it to update the JavaFX views, whereas a
+ * headless simulation can pass no listener at all, so that the engine runs
+ * without the JavaFX toolkit.
+ *
+ * @author Ekkart Kindler, ekki@dtu.dk
+ */
+public interface GameEventListener {
+
+    /**
+     * Called when a player has reached the last checkpoint and won the game.
+     *
+     * @param winner the player who won the game
+     */
+    void announceWinner(Player winner);
+
+    /**
+     * Called when the laser of a robot hit another robot (see
+     * {@link GameController#activateRobotLasers()}). By default, nothing is done.
+     *
+     * @param shooter the player whose robot fired the laser
+     * @param target the player whose robot was hit
+     */
+    default void robotHit(Player shooter, Player target) {
+    }
+
+}
@@ -0,0 +1,84 @@
+
+/*
+ *  This file is part of the initial project provided for the
+ *  course "Project in Software Development (02362)" held at
+ *  DTU Compute at the Technical University of Denmark.
+ *
+ *  Copyright (C) 2019, 2020: Ekkart Kindler, ekki@dtu.dk
+ *
+ *  This software is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; version 2 of the License.
+ *
+ *  This project is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this project; if not, write to the Free Software
+ *  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package dk.dtu.compute.se.pisd.roborally.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static dk.dtu.compute.se.pisd.roborally.model.ActionField.*;
+
+/**
+ * Enumerates the phases in which the board elements are activated after the
+ * robots executed a register, in the order of the rulebook. Each phase activates
+ * the board elements of its types only (see {@link Board#getElements(ActionField)}).
+ * @author Ekkart Kindler, ekki@dtu.dk
+ */
+public enum ActivationPhase {
+
+    EXPRESS_BELTS(DOUBLE_CONVEYOR_BELT, DOUBLE_LEFTTREE_CONVEYOR_BELT, DOUBLE_RIGHTTREE_CONVEYOR_BELT),
+    BELTS(CONVEYOR_BELT, LEFT_CONVEYOR_BELT, RIGHT_CONVEYOR_BELT),
+    PUSH_PANELS(PUSH_PANEL),
+    GEARS(LEFT_GEAR, RIGHT_GEAR),
+    LASERS(BOARD_LASER_START, BOARD_LASER, BOARD_LASER_END),
+    ENERGY(ENERGY_SPACE),
+    CHECKPOINTS(CHECKPOINT),
+    // not a board element of the rulebook; a robot that gets onto the
+    // antenna nevertheless makes the antenna determine the turn order
+    ANTENNA(PRIORITY_ANTENNA);
+
+    private final Set<ActionField> types;
+
+    ActivationPhase(ActionField type, ActionField... types) {
+        this.types = Collections.unmodifiableSet(EnumSet.of(type, types));
+    }
+
+    /**
+     * Returns the types of the board elements which are activated in this phase.
+     * @return the unmodifiable set of the types of the board elements of this phase
+     */
+    public Set<ActionField> getTypes() {
+        return types;
+    }
+
+    /**
+     * Checks whether the board elements of the given type are activated in this phase.
+     * @param type the type of a space
+     * @return true if spaces of this type are activated in this phase, false otherwise
+     */
+    public boolean includes(@NotNull ActionField type) {
+        return types.contains(type);
+    }
+
+    /**
+     * Checks whether the board elements of this phase are belts or gears, which
+     * move all robots at the same time (see
+     * {@link ElementTransitions#applySimultaneously(Board, ActivationPhase)}).
+     * @return true if the robots of this phase are moved simultaneously, false otherwise
+     */
+    public boolean isSimultaneous() {
+        return this == EXPRESS_BELTS || this == BELTS || this == GEARS;
+    }
+}
@@ -27,8 +27,12 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import static dk.dtu.compute.se.pisd.roborally.model.Phase.INITIALISATION;
 
@@ -53,8 +57,20 @@ public class Board extends Subject {
     public final String boardName;
     @Expose
     private Integer gameId;
-    @Expose
-    private  Space[][] spaces;
+    /**
+     * The tiles of the board (type, heading and checkpoint index of every cell).
+     */
+    private final transient TileGrid tiles;
+
+    /**
+     * The spaces of the board, by their cell number (see {@link TileGrid}). The
+     * spaces are created from the tiles only when they are needed for the first
+     * time, e.g. by the views or when a robot moves onto them. For a sparse board,
+     * the spaces are kept in a {@link SpaceTable} instead of an array, which keeps
+     * only the spaces which are occupied, observed or still in use otherwise.
+     */
+    private transient Space[] spaces;
+    private transient SpaceTable sparseSpaces;
     @Expose
     private  List<Player> players = new ArrayList<>();
     @Expose
@@ -69,12 +85,77 @@ public class Board extends Subject {
     private int step = 0;
     @Expose
     private boolean stepMode;
-    private static final int MAX_PLAYERS = 6;
+    static final int MAX_PLAYERS = 6;
     private Player currentTurn;
 
+    /**
+     * A read-only view of the list of players, and the players by their names;
+     * both are created when they are needed first (also for a board which was
+     * loaded from a file) and kept up to date when players are added or renamed.
+     */
+    private transient List<Player> playersView;
+    private transient Map<String, Player> playersByName;
+
+    /**
+     * The player who reached the last checkpoint first, or null as long as no
+     * player did.
+     */
+    private Player winner;
+
+    /**
+     * The spaces which are occupied by a robot, in the order in which the spaces
+     * of the board are scanned (column by column). The spaces keep this list up
+     * to date when a player enters or leaves them, so that the spaces with a robot
+     * can be found without looking at every space of the board.
+     */
+    private final List<Space> occupiedSpaces = new ArrayList<>();
+
+    /**
+     * The positions of the spaces of the board by their type, each in scan order;
+     * a position is the number {@code x * height + y} of a space, which is also its
+     * place in the scan order. The index is built from the tiles when the board is
+     * created, and the spaces keep it up to date when their type changes, so that
+     * the board elements of some type can be found without looking at every space
+     * of the board. Normal spaces are not board elements, and are not indexed.
+     */
+    private final Map<ActionField, int[]> elements = new EnumMap<>(ActionField.class);
+
+    /**
+     * The movement of the robots by the belts and gears of this board, which is
+     * compiled when the board is created, and compiled again when it is needed
+     * after the type of some space changed.
+     */
+    private ElementTransitions transitions;
+
+    /**
+     * The beams of the board lasers of this board, which are computed when they
+     * are needed first, and computed again after the type of some space changed.
+     */
+    private BoardLasers lasers;
+
+    /**
+     * The order of the turns determined by the priority antenna, which is kept
+     * up to date when robots move; null as long as it was not determined.
+     */
+    private TurnOrder turnOrder;
+
+    /**
+     * The cells of the board which are walls and which are occupied by a robot,
+     * as bit sets over the cell numbers (see {@link TileGrid}): bit {@code cell % 64}
+     * of word {@code cell / 64}. They are kept up to date when the type of a space
+     * changes or a robot moves, so that the movement of the robots can check for
+     * walls and robots with bit operations only. The words are allocated in blocks
+     * for the parts of the board with walls or robots only (see {@link CellBits}).
+     */
+    private transient CellBits wallBits;
+    private transient CellBits robotBits;
+
     /**
      * Constructs a new Board with the given dimensions and name.
-     * Initializes the spaces within the board.
+     * Initializes the spaces within the board. If the course lists its
+     * special tiles only (see {@link dk.dtu.compute.se.pisd.roborally.model.Course#isSparse()}),
+     * the board is sparse: it stores only the tiles other than normal spaces
+     * (see {@link TileGrid#sparse(int, int)}).
      *
      * @param boardName the name of the board
      */
@@ -83,14 +164,21 @@ public class Board extends Subject {
         this.Course = course;
         this.width = course.width;
         this.height = course.height;
-        spaces = new Space[width][height];
-        ArrayList<ArrayList<Space>> courseSpaces = course.getSpaces();
-        for (int x = 0; x < width; x++) {
-            for(int y = 0; y < height; y++)  {
-                Space courseSpace = courseSpaces.get(y).get(x);
-                spaces[x][y] = createSpaceFromType(x, y, courseSpace);
+        if (course.isSparse()) {
+            tiles = TileGrid.sparse(width, height);
+            for (Space courseSpace : course.getTiles()) {
+                setTile(courseSpace.x, courseSpace.y, courseSpace);
+            }
+        } else {
+            tiles = TileGrid.dense(width, height);
+            ArrayList<ArrayList<Space>> courseSpaces = course.getSpaces();
+            for (int x = 0; x < width; x++) {
+                for(int y = 0; y < height; y++)  {
+                    setTile(x, y, courseSpaces.get(y).get(x));
+                }
             }
         }
+        indexElements();
         this.stepMode = false;
     }
 
@@ -102,14 +190,84 @@ public class Board extends Subject {
         this.boardName = "default";
         this.width = width;
         this.height = height;
-        spaces = new Space[width][height];
-        for (int x = 0; x < width; x++) {
-            for(int y = 0; y < height; y++) {
-                Space space = new Space(this, x, y);
-                spaces[x][y] = space;
+        tiles = TileGrid.dense(width, height);
+        indexElements();
+        this.stepMode = false;
+    }
+
+    private void setTile(int x, int y, Space courseSpace) {
+        if (courseSpace.getType() != null && courseSpace.getType() != ActionField.NORMAL) {
+            // only the tile of the space is kept; the space itself is created
+            // again when it is needed
+            Space space = createSpaceFromType(x, y, courseSpace);
+            tiles.set(tiles.cell(x, y), space.getType(), space.getHeading(), space.getIndex());
+        }
+    }
+
+    private void indexElements() {
+        int[] cells = tiles.getSpecialCells();
+        int[] counts = new int[ActionField.values().length];
+        for (int cell : cells) {
+            counts[tiles.getType(cell).ordinal()]++;
+        }
+        for (ActionField type : ActionField.values()) {
+            if (counts[type.ordinal()] > 0 && type != ActionField.NORMAL) {
+                elements.put(type, new int[counts[type.ordinal()]]);
+                counts[type.ordinal()] = 0;
             }
         }
-        this.stepMode = false;
+        for (int cell : cells) {
+            ActionField type = tiles.getType(cell);
+            if (type != ActionField.NORMAL) {
+                elements.get(type)[counts[type.ordinal()]++] = (cell % width) * height + cell / width;
+            }
+        }
+        for (int[] positions : elements.values()) {
+            Arrays.sort(positions);
+        }
+        transitions = new ElementTransitions(this);
+
+        wallBits = new CellBits(width * height);
+        robotBits = new CellBits(width * height);
+        for (int cell : cells) {
+            if (tiles.getType(cell) == ActionField.WALL) {
+                wallBits.set(cell);
+            }
+        }
+    }
+
+    /**
+     * Returns the tiles of this board, which the game logic can use to look at the
+     * types and headings of the spaces without creating the spaces.
+     *
+     * @return the tiles of the board
+     */
+    public TileGrid getTiles() {
+        return tiles;
+    }
+
+    /**
+     * Returns the movement of the robots by the belts and gears of this board.
+     *
+     * @return the transitions of the belts and gears of this board
+     */
+    public ElementTransitions getTransitions() {
+        if (transitions == null) {
+            transitions = new ElementTransitions(this);
+        }
+        return transitions;
+    }
+
+    /**
+     * Returns the beams of the board lasers of this board.
+     *
+     * @return the board lasers of this board
+     */
+    public BoardLasers getLasers() {
+        if (lasers == null) {
+            lasers = new BoardLasers(this);
+        }
+        return lasers;
     }
 
     /**
@@ -155,8 +313,15 @@ public class Board extends Subject {
         return new Space(this, x, y);
     }
 
+    /**
+     * Returns the player of this board with the same name as the given player,
+     * e.g. a player of another board for the same game.
+     *
+     * @param player the player
+     * @return the player of this board with the same name, or null if there is none
+     */
     public Player findCorrespondingPlayer(Player player) {
-        return getPlayers().stream().filter(p -> p.getName().equals(player.getName())).findAny().orElse(null);
+        return getPlayerByName(player.getName());
     }
 
     public Course getCourse(){
@@ -164,56 +329,68 @@ public class Board extends Subject {
     }
 
     /**
-     * Gets the unique game identifier for this board.
+     * Orders the players by the distance of their robots from the priority antenna
+     * at the given coordinates (see {@link TurnOrder}), and gives the first turn to
+     * the player whose robot is closest to the antenna. The order of the players of
+     * the board is changed accordingly.
      *
-     * @return the game ID, or null if not set
+     * @param x the x coordinate of the antenna
+     * @param y the y coordinate of the antenna
      */
     public void determineTurn(int x, int y) {
-        int counter = 0;
-        double[] distances = new double[players.size()];
-        ArrayList<Player> temp = new ArrayList<>();
-
-        for (Player player : players) {
-            int dx = player.getSpace().x - x;
-            int dy = player.getSpace().y - y;
-
-            double distance = Math.sqrt((dx * dx) + (dy * dy));
-
-            player.distance = distance;
-            distances[counter] = distance;
-            counter++;
+        if (turnOrder == null || turnOrder.antennaX != x || turnOrder.antennaY != y) {
+            turnOrder = new TurnOrder(this, x, y, MAX_PLAYERS);
         }
-
-        double[] distancesSorted = Arrays.stream(distances).sorted().toArray();
-
-        for (double v : distancesSorted) {
-            System.out.print("/" + v + "/");
+        for (int i = 0; i < turnOrder.size(); i++) {
+            players.set(i, turnOrder.getPlayer(i));
+        }
+        if (!players.isEmpty()) {
+            setCurrentTurn(players.get(0));
         }
+    }
 
-        for (int i = 0; i < distances.length; i++) {
-            for (Player player : players) {
-                if (player.distance == distancesSorted[i]) {
-                    distancesSorted[i] = 8000;
-                    player.distance = 5000;
-                    temp.add(player);
-                }
-            }
+    /**
+     * Tracks the progress of the given player, after the player reached the next
+     * checkpoint. The player who reaches the last checkpoint first becomes the
+     * winner at that moment. The number of checkpoints is taken from the index of
+     * the board elements, so this takes constant time. This method is called by
+     * the player.
+     *
+     * @param player the player who reached a checkpoint
+     */
+    void checkpointReached(@NotNull Player player) {
+        int checkpoints = getElementCount(ActionField.CHECKPOINT);
+        if (winner == null && checkpoints > 0 && player.getIndex() >= checkpoints) {
+            winner = player;
         }
+        notifyChange(GameChange.PROGRESS);
+    }
 
-        players.clear();
-        players.addAll(temp);
-        setCurrentTurn(players.get(0));
+    /**
+     * Returns the player who reached the last checkpoint first. A board without
+     * any checkpoints has no winner.
+     *
+     * @return the winner, or null if there is no winner (yet)
+     */
+    public Player getWinner() {
+        return winner;
+    }
+
+    /**
+     * Returns the order of the turns as determined by the priority antenna, or
+     * null if the turns were not determined yet (see {@link #determineTurn(int, int)}).
+     *
+     * @return the turn order of the players, or null
+     */
+    public TurnOrder getTurnOrder() {
+        return turnOrder;
     }
 
     // moves the current turn to the next players in the current order of turns
     public void moveCurrentTurn(){
-        Iterator<Player> iter = getPlayers().iterator();
-        Player player = iter.next();
-        while (iter.hasNext()) {
-            if(player == currentTurn){
-                player = iter.next();
-                setCurrentTurn(player);
-            } else player = iter.next();
+        int i = players.indexOf(currentTurn);
+        if (i >= 0 && i + 1 < players.size()) {
+            setCurrentTurn(players.get(i + 1));
         }
     }
 
@@ -253,11 +430,38 @@ public class Board extends Subject {
      * @return the space at the given coordinates, or null if out of bounds
      */
     public Space getSpace(int x, int y) {
-        if (x < 0 || x >= width || y < 0 || y >= height) {
-            // Error handling
-            throw new IllegalArgumentException("Coordinates are out of board bounds.");
+        int cell = tiles.cell(x, y);
+        Space space;
+        if (tiles.isSparse()) {
+            if (sparseSpaces == null) {
+                sparseSpaces = new SpaceTable();
+            }
+            space = sparseSpaces.get(cell);
+        } else {
+            if (spaces == null) {
+                spaces = new Space[width * height];
+            }
+            space = spaces[cell];
+        }
+        if (space == null) {
+            ActionField type = tiles.getType(cell);
+            switch (type) {
+                case NORMAL:
+                    space = new Space(this, x, y);
+                    break;
+                case CHECKPOINT:
+                    space = new Space(this, x, y, tiles.getIndex(cell));
+                    break;
+                default:
+                    space = new Space(this, x, y, type, tiles.getHeading(cell));
+            }
+            if (tiles.isSparse()) {
+                sparseSpaces.put(cell, space);
+            } else {
+                spaces[cell] = space;
+            }
         }
-        return spaces[x][y];
+        return space;
     }
 
 
@@ -282,7 +486,13 @@ public class Board extends Subject {
         }
         if (player.board == this && !players.contains(player)) {
             players.add(player);
-            notifyChange();
+            if (playersByName != null) {
+                playersByName.putIfAbsent(player.getName(), player);
+            }
+            if (turnOrder != null) {
+                turnOrder.moved(player);
+            }
+            notifyChange(GameChange.PLAYERS);
         } else {
             throw new IllegalArgumentException("Player is either already on this board or associated with a different board.");
         }
@@ -303,13 +513,66 @@ public class Board extends Subject {
     }
 
     /**
-     * Returns an ArrayList of players
+     * Returns an ArrayList of players, which is a copy of the players of the board.
+     * For just looking at the players, {@link #getPlayersView()} or
+     * {@link #forEachPlayer(Consumer)} do not need to copy the list.
      * @return an ArrayList of players
      */
     public ArrayList<Player> getPlayers() {
         return new ArrayList<>(players);
     }
 
+    /**
+     * Returns a read-only view of the players of the board, in the order of the
+     * turns. The view is not a copy; it shows the changes of the players of the
+     * board.
+     * @return an unmodifiable list of the players
+     */
+    public List<Player> getPlayersView() {
+        if (playersView == null) {
+            playersView = Collections.unmodifiableList(players);
+        }
+        return playersView;
+    }
+
+    /**
+     * Performs the given action for each player of the board, in the order of the
+     * turns, without copying the list of players.
+     * @param action the action to be performed for each player
+     */
+    public void forEachPlayer(@NotNull Consumer<? super Player> action) {
+        for (int i = 0; i < players.size(); i++) {
+            action.accept(players.get(i));
+        }
+    }
+
+    /**
+     * Returns the player of the board with the given name, which is looked up in
+     * a map of the players by their names.
+     * @param name the name of the player
+     * @return the player with the given name, or null if there is none
+     */
+    public Player getPlayerByName(String name) {
+        if (playersByName == null) {
+            playersByName = new HashMap<>();
+            for (Player player : players) {
+                playersByName.putIfAbsent(player.getName(), player);
+            }
+        }
+        return playersByName.get(name);
+    }
+
+    /**
+     * Updates the map of the players by their names, after the given player was
+     * renamed. This method is called by the player.
+     * @param player the player who was renamed
+     */
+    void playerRenamed(@NotNull Player player) {
+        // the map is built again when it is needed next, since the old name
+        // could be the name of another player as well
+        playersByName = null;
+    }
+
     /**
      * Gets the current player whose turn it is.
      * @return the current player
@@ -338,7 +601,7 @@ public class Board extends Subject {
     }
 
     public Space getSpaceView(int x, int y){
-        return spaces[x][y];
+        return getSpace(x, y);
     }
 
     /**
@@ -349,7 +612,7 @@ public class Board extends Subject {
     public void setPhase(Phase phase) {
         if (phase != this.phase) {
             this.phase = phase;
-            notifyChange();
+            notifyChange(GameChange.PHASE);
         }
     }
 
@@ -373,7 +636,7 @@ public class Board extends Subject {
     public void setStep(int step) {
         if (step != this.step) {
             this.step = step;
-            notifyChange();
+            notifyChange(GameChange.STEP);
         }
     }
 
@@ -392,7 +655,7 @@ public class Board extends Subject {
     public void setStepMode(boolean stepMode) {
         if (stepMode != this.stepMode) {
             this.stepMode = stepMode;
-            notifyChange();
+            notifyChange(GameChange.STEP_MODE);
         }
     }
 
@@ -415,13 +678,7 @@ public class Board extends Subject {
      * @return the player that corresponds to the parameter name
      */
     public Player getPlayerRepresentation(String representation){
-        for (int i = 0; i < players.size();i++){
-            if(representation.equals(players.get(i).getName())){
-                return players.get(i);
-            }
-
-        }
-        return null;
+        return getPlayerByName(representation);
     }
 
     /**
@@ -463,10 +720,407 @@ public class Board extends Subject {
         return this.players.size();
     }
 
+    /**
+     * Returns the spaces which are currently occupied by a robot, in the order in
+     * which the spaces of the board are scanned (column by column, i.e. by x and
+     * then by y). The returned list is a snapshot; it does not change when robots
+     * move afterwards.
+     *
+     * @return the list of the occupied spaces
+     */
+    public List<Space> getOccupiedSpaces() {
+        return new ArrayList<>(occupiedSpaces);
+    }
+
+    /**
+     * Returns the number of spaces which are currently occupied by a robot.
+     *
+     * @return the number of the occupied spaces
+     */
+    public int getOccupiedCount() {
+        return occupiedSpaces.size();
+    }
+
+    /**
+     * Returns the occupied space with the given index, in the order of
+     * {@link #getOccupiedSpaces()}, without copying the index of the occupied
+     * spaces. The index changes when robots move.
+     *
+     * @param i the index of the occupied space, between 0 and {@link #getOccupiedCount()} (exclusive)
+     * @return the occupied space with this index
+     */
+    public Space getOccupiedSpace(int i) {
+        return occupiedSpaces.get(i);
+    }
+
+    /**
+     * Updates how a sparse board keeps the given space, after the space became
+     * observed or is not observed anymore. This method is called by the space.
+     *
+     * @param space the space whose observers changed
+     */
+    void retentionChanged(@NotNull Space space) {
+        if (sparseSpaces != null) {
+            sparseSpaces.put(tiles.cell(space.x, space.y), space);
+        }
+    }
+
+    /**
+     * Updates the index of the occupied spaces and the turn order (if any), after
+     * a player entered or left the given space. This method is called by the space.
+     *
+     * @param space the space which was entered or left
+     */
+    void occupancyChanged(@NotNull Space space) {
+        int cell = tiles.cell(space.x, space.y);
+        if (sparseSpaces != null) {
+            sparseSpaces.put(cell, space);
+        }
+        if (space.getPlayer() != null) {
+            robotBits.set(cell);
+        } else {
+            robotBits.clear(cell);
+        }
+        int i = 0;
+        while (i < occupiedSpaces.size() && scanOrder(occupiedSpaces.get(i), space) < 0) {
+            i++;
+        }
+        boolean listed = i < occupiedSpaces.size() && occupiedSpaces.get(i) == space;
+        if (space.getPlayer() != null) {
+            if (!listed) {
+                occupiedSpaces.add(i, space);
+            }
+            if (turnOrder != null) {
+                turnOrder.moved(space.getPlayer());
+            }
+        } else if (listed) {
+            occupiedSpaces.remove(i);
+        }
+    }
+
+    /**
+     * Checks whether the space at the given coordinates is a wall.
+     *
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return true if the space is a wall, false otherwise
+     * @throws IllegalArgumentException if the coordinates are out of the board's bounds
+     */
+    public boolean isWall(int x, int y) {
+        int cell = tiles.cell(x, y);
+        return wallBits.get(cell);
+    }
+
+    /**
+     * Checks whether the space at the given coordinates is occupied by a robot.
+     *
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return true if there is a robot on the space, false otherwise
+     * @throws IllegalArgumentException if the coordinates are out of the board's bounds
+     */
+    public boolean isOccupied(int x, int y) {
+        int cell = tiles.cell(x, y);
+        return robotBits.get(cell);
+    }
+
+    /**
+     * Checks whether a robot can be moved onto the space at the given coordinates,
+     * i.e. whether the coordinates are on the board, and the space is neither a
+     * wall nor occupied by another robot.
+     *
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return true if the space is free, false otherwise
+     */
+    public boolean isFree(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return false;
+        }
+        int cell = y * width + x;
+        return ((wallBits.word(cell >> 6) | robotBits.word(cell >> 6)) & 1L << cell) == 0;
+    }
+
+    /**
+     * Returns the player whose robot is the first robot in sight from the space
+     * at the given coordinates in the given heading, i.e. the robot which a laser
+     * shot from that space would hit. The ray is cast on the bit sets (see
+     * {@link #getLineOfSight(int, int, Heading)}); walls stop it.
+     *
+     * @param x the x coordinate of the space
+     * @param y the y coordinate of the space
+     * @param heading the heading of the ray
+     * @return the player whose robot is hit, or null if the ray hits a wall or the
+     *         edge of the board
+     */
+    public Player getRobotInSight(int x, int y, @NotNull Heading heading) {
+        int distance = getLineOfSight(x, y, heading) + 1;
+        int targetX = x + distance * heading.dx();
+        int targetY = y + distance * heading.dy();
+        if (targetX < 0 || targetX >= width || targetY < 0 || targetY >= height || !isOccupied(targetX, targetY)) {
+            return null;
+        }
+        return getSpace(targetX, targetY).getPlayer();
+    }
+
+    /**
+     * Moves the robot of the given player by the given number of spaces in the
+     * given direction, as far as possible. The robot stops at the edge of the
+     * board and in front of a wall. Robots in the way are pushed: the line of
+     * robots in front of the moving robot is walked once on the bit sets, and if
+     * the space behind the last robot of the line is free, all robots of the line
+     * are moved by one space; otherwise the robot stops. All the changes are
+     * committed in one batch (see {@link Subject#beginBatch()}), so that every
+     * affected space and player notifies its observers only once.
+     * This is the one movement kernel for robots: apart from the spaces on the
+     * way (which are created on first access), it does not allocate any objects.
+     *
+     * @param player the player whose robot is moved
+     * @param direction the direction of the movement
+     * @param steps the number of spaces to move
+     * @return the number of spaces the robot actually moved
+     */
+    public int moveRobot(@NotNull Player player, @NotNull Heading direction, int steps) {
+        Space space = player.getSpace();
+        if (space == null || space.board != this) {
+            return 0;
+        }
+        int dx = direction.dx();
+        int dy = direction.dy();
+        int x = space.x;
+        int y = space.y;
+        int moved = 0;
+        Subject.beginBatch();
+        try {
+            while (moved < steps) {
+                int nextX = x + dx;
+                int nextY = y + dy;
+                // the number of robots in a row in front of the moving robot
+                int chain = 0;
+                int endX = nextX;
+                int endY = nextY;
+                while (endX >= 0 && endX < width && endY >= 0 && endY < height && isOccupied(endX, endY)) {
+                    chain++;
+                    endX += dx;
+                    endY += dy;
+                }
+                if (!isFree(endX, endY)) {
+                    break;
+                }
+                // move the chain starting with its last robot, so that every
+                // robot moves onto a space which is free already
+                Space to = getSpace(endX, endY);
+                for (int i = chain; i > 0; i--) {
+                    Space from = getSpace(nextX + (i - 1) * dx, nextY + (i - 1) * dy);
+                    from.getPlayer().setSpace(to);
+                    to = from;
+                }
+                player.setSpace(to);
+                x = nextX;
+                y = nextY;
+                moved++;
+            }
+        } finally {
+            Subject.commitBatch();
+        }
+        return moved;
+    }
+
+    /**
+     * Returns the number of free spaces (see {@link #isFree(int, int)}) in a row,
+     * starting next to the space at the given coordinates in the given heading,
+     * i.e. how far the view from that space reaches until it hits a wall, a robot
+     * or the edge of the board. Along a row of the board, a whole word of the bit
+     * sets is looked at at once.
+     *
+     * @param x the x coordinate of the space
+     * @param y the y coordinate of the space
+     * @param heading the heading of the view
+     * @return the number of free spaces in the given heading
+     */
+    public int getLineOfSight(int x, int y, @NotNull Heading heading) {
+        int cell = tiles.cell(x, y);
+        switch (heading) {
+            case EAST: {
+                int end = y * width + width;
+                int next = cell + 1;
+                while (next < end) {
+                    long blocked = (wallBits.word(next >> 6) | robotBits.word(next >> 6)) & (-1L << next);
+                    if (blocked != 0) {
+                        int hit = (next & ~63) + Long.numberOfTrailingZeros(blocked);
+                        return Math.min(hit, end) - cell - 1;
+                    }
+                    next = (next | 63) + 1;
+                }
+                return end - cell - 1;
+            }
+            case WEST: {
+                int start = y * width;
+                int previous = cell - 1;
+                while (previous >= start) {
+                    long blocked = (wallBits.word(previous >> 6) | robotBits.word(previous >> 6)) & (-1L >>> (63 - (previous & 63)));
+                    if (blocked != 0) {
+                        int hit = (previous | 63) - Long.numberOfLeadingZeros(blocked);
+                        return cell - Math.max(hit, start - 1) - 1;
+                    }
+                    previous = (previous & ~63) - 1;
+                }
+                return cell - start;
+            }
+            default: {
+                int step = heading == Heading.SOUTH ? width : -width;
+                int count = 0;
+                for (int next = cell + step; next >= 0 && next < width * height; next += step) {
+                    if (((wallBits.word(next >> 6) | robotBits.word(next >> 6)) & 1L << next) != 0) {
+                        break;
+                    }
+                    count++;
+                }
+                return count;
+            }
+        }
+    }
+
+    /**
+     * Returns the spaces of the given type, i.e. the board elements of that type,
+     * in the order in which the spaces of the board are scanned (column by column).
+     * Since normal spaces are not indexed, asking for the normal spaces creates
+     * all spaces of the board.
+     *
+     * @param type the type of the spaces
+     * @return the list of the spaces of the given type
+     */
+    public List<Space> getElements(@NotNull ActionField type) {
+        if (type == ActionField.NORMAL) {
+            List<Space> normalSpaces = new ArrayList<>();
+            forEachSpace(space -> {
+                if (space.getType() == ActionField.NORMAL) {
+                    normalSpaces.add(space);
+                }
+            });
+            return normalSpaces;
+        }
+        int[] positions = elements.get(type);
+        if (positions == null) {
+            return Collections.emptyList();
+        }
+        List<Space> spacesOfType = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            spacesOfType.add(getSpace(position / height, position % height));
+        }
+        return spacesOfType;
+    }
+
+    /**
+     * Returns the space of the given type with the given index, in the order of
+     * {@link #getElements(ActionField)}, without creating a list of the spaces.
+     * The normal spaces are not indexed.
+     *
+     * @param type the type of the space, which must not be {@link ActionField#NORMAL}
+     * @param i the index of the space, between 0 and {@link #getElementCount(ActionField)} (exclusive)
+     * @return the space of the given type with this index
+     */
+    public Space getElement(@NotNull ActionField type, int i) {
+        int position = elements.get(type)[i];
+        return getSpace(position / height, position % height);
+    }
+
+    /**
+     * Returns the number of spaces of the given type, without creating the spaces.
+     *
+     * @param type the type of the spaces
+     * @return the number of spaces of the given type
+     */
+    public int getElementCount(@NotNull ActionField type) {
+        if (type == ActionField.NORMAL) {
+            int count = width * height;
+            for (int[] positions : elements.values()) {
+                count -= positions.length;
+            }
+            return count;
+        }
+        int[] positions = elements.get(type);
+        return positions != null ? positions.length : 0;
+    }
+
+    /**
+     * Updates the index of the board elements, after the type of the given space
+     * changed. This method is called by the space.
+     *
+     * @param space the space whose type changed
+     * @param oldType the previous type of the space
+     */
+    void typeChanged(@NotNull Space space, ActionField oldType) {
+        ActionField type = space.getType() != null ? space.getType() : ActionField.NORMAL;
+        int position = space.x * height + space.y;
+        int cell = tiles.cell(space.x, space.y);
+        tiles.setType(cell, type);
+        if (type == ActionField.WALL) {
+            wallBits.set(cell);
+        } else {
+            wallBits.clear(cell);
+        }
+        transitions = null;
+        lasers = null;
+        int[] positions = elements.get(oldType);
+        if (positions != null && oldType != ActionField.NORMAL) {
+            int i = Arrays.binarySearch(positions, position);
+            if (i >= 0) {
+                int[] changed = new int[positions.length - 1];
+                System.arraycopy(positions, 0, changed, 0, i);
+                System.arraycopy(positions, i + 1, changed, i, changed.length - i);
+                elements.put(oldType, changed);
+            }
+        }
+        if (type == ActionField.NORMAL) {
+            return;
+        }
+        positions = elements.getOrDefault(type, new int[0]);
+        int i = Arrays.binarySearch(positions, position);
+        if (i < 0) {
+            i = -i - 1;
+            int[] changed = new int[positions.length + 1];
+            System.arraycopy(positions, 0, changed, 0, i);
+            changed[i] = position;
+            System.arraycopy(positions, i, changed, i + 1, positions.length - i);
+            elements.put(type, changed);
+        }
+    }
+
+    /**
+     * Compares two spaces by the order in which the spaces of the board are
+     * scanned (column by column, i.e. by x and then by y).
+     *
+     * @param space1 the first space
+     * @param space2 the second space
+     * @return a negative number, zero or a positive number if the first space
+     *         is scanned before, at the same time or after the second space
+     */
+    public static int scanOrder(@NotNull Space space1, @NotNull Space space2) {
+        return space1.x != space2.x ? Integer.compare(space1.x, space2.x) : Integer.compare(space1.y, space2.y);
+    }
+
+    /**
+     * Performs the given action for each space of the board, in the order in which
+     * the spaces are scanned (column by column), without collecting the spaces in
+     * a list first. The spaces are created when they are visited for the first time.
+     *
+     * @param action the action to be performed for each space
+     */
+    public void forEachSpace(@NotNull Consumer<? super Space> action) {
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                action.accept(getSpace(x, y));
+            }
+        }
+    }
+
     public ArrayList<Space> getSpacesList() {
         ArrayList<Space> spacesList = new ArrayList<>();
-        for (Space[] space : spaces) {
-            spacesList.addAll(Arrays.asList(space));
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                spacesList.add(getSpace(x, y));
+            }
         }
         return spacesList;
     }
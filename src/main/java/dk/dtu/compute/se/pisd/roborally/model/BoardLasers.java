@@ -0,0 +1,209 @@
+
+/*
+ *  This file is part of the initial project provided for the
+ *  course "Project in Software Development (02362)" held at
+ *  DTU Compute at the Technical University of Denmark.
+ *
+ *  Copyright (C) 2019, 2020: Ekkart Kindler, ekki@dtu.dk
+ *
+ *  This software is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; version 2 of the License.
+ *
+ *  This project is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this project; if not, write to the Free Software
+ *  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package dk.dtu.compute.se.pisd.roborally.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The beams of the board lasers of a board, computed once from the tiles when
+ * they are needed first, and again after the type of some space changed. A beam
+ * starts on a {@link ActionField#BOARD_LASER_START} and runs away from the side
+ * of the laser, i.e. opposite to the heading of the start (as the tile images
+ * show). It ends on a {@link ActionField#BOARD_LASER_END}, in front of a wall or
+ * at the edge of the board.
+ * When the lasers fire, each beam hits the first robot on it only: the robots
+ * which stand on a beam are looked up by their cells in a sorted table of the
+ * beam cells, so that firing all lasers does not walk along the beams, and the
+ * costs grow with the number of lasers and robots only. The buffers for firing
+ * the lasers are kept by this object and reused, so that firing does not allocate.
+ * A board may have at most {@link #MAX_LASERS} lasers, and each beam may have at
+ * most {@link #MAX_BEAM_CELLS} cells.
+ *
+ * @author Ekkart Kindler, ekki@dtu.dk
+ */
+public final class BoardLasers {
+
+    /**
+     * The maximum number of board lasers of a board, since the number of the laser
+     * is packed into 16 bits of the keys.
+     */
+    public static final int MAX_LASERS = 0xFFFF;
+
+    /**
+     * The maximum number of cells of a beam, since the position on the beam is
+     * packed into 16 bits of the keys.
+     */
+    public static final int MAX_BEAM_CELLS = 0xFFFF;
+
+    private final int width;
+
+    /**
+     * The cells of all beams, one beam after the other; the cells of beam
+     * {@code i} are at the indices from {@code offsets[i]} to {@code offsets[i+1]}
+     * (exclusive), starting with the cell of the laser.
+     */
+    private final int[] beamCells;
+
+    private final int[] offsets;
+
+    /**
+     * The cells of all beams as {@code cell << 32 | beam << 16 | position},
+     * sorted, where position is the position of the cell on the beam.
+     */
+    private final long[] keys;
+
+    // the buffers of fire: the first position on each beam which holds a robot,
+    // the robot at that position, and the robots which were hit
+    private final int[] first;
+    private final Player[] targets;
+    private final List<Player> hits = new ArrayList<>();
+    private final List<Player> hitsView = Collections.unmodifiableList(hits);
+
+    /**
+     * Computes the beams of the board lasers of the given board.
+     *
+     * @param board the board
+     * @throws IllegalArgumentException if the board has more than {@link #MAX_LASERS}
+     *         lasers, or a beam with more than {@link #MAX_BEAM_CELLS} cells
+     */
+    BoardLasers(@NotNull Board board) {
+        TileGrid tiles = board.getTiles();
+        width = tiles.width;
+        int count = 0;
+        int[] special = tiles.getSpecialCells();
+        for (int cell : special) {
+            if (tiles.getType(cell) == ActionField.BOARD_LASER_START) {
+                special[count++] = cell;
+            }
+        }
+        if (count > MAX_LASERS) {
+            throw new IllegalArgumentException("A board must not have more than " + MAX_LASERS + " board lasers.");
+        }
+        offsets = new int[count + 1];
+        int[] cells = new int[Math.max(tiles.width, tiles.height) * count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            int cell = special[i];
+            Heading direction = tiles.getHeading(cell).opposite();
+            int x = cell % width;
+            int y = cell / width;
+            cells[size++] = cell;
+            while (tiles.getType(cell) != ActionField.BOARD_LASER_END) {
+                x += direction.dx();
+                y += direction.dy();
+                if (x < 0 || x >= tiles.width || y < 0 || y >= tiles.height) {
+                    break;
+                }
+                cell = tiles.cell(x, y);
+                if (tiles.getType(cell) == ActionField.WALL) {
+                    break;
+                }
+                cells[size++] = cell;
+            }
+            offsets[i + 1] = size;
+            if (size - offsets[i] > MAX_BEAM_CELLS) {
+                throw new IllegalArgumentException("The beam of a board laser must not have more than " + MAX_BEAM_CELLS + " cells.");
+            }
+        }
+        beamCells = Arrays.copyOf(cells, size);
+        keys = new long[size];
+        for (int i = 0; i < count; i++) {
+            for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+                keys[j] = (long) beamCells[j] << 32 | (long) i << 16 | (j - offsets[i]);
+            }
+        }
+        Arrays.sort(keys);
+        first = new int[count];
+        targets = new Player[count];
+    }
+
+    /**
+     * Returns the number of board lasers. The lasers are numbered in the order
+     * of their cell numbers.
+     *
+     * @return the number of board lasers
+     */
+    public int getLaserCount() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Returns the cell numbers ({@code y * width + x}) of the beam of the given
+     * laser, starting with the cell of the laser itself.
+     *
+     * @param laser the number of the laser
+     * @return the cells of the beam
+     */
+    public int[] getBeam(int laser) {
+        return Arrays.copyOfRange(beamCells, offsets[laser], offsets[laser + 1]);
+    }
+
+    /**
+     * Fires all board lasers of the given board at the same time: each laser
+     * hits the first robot on its beam, if any, which gets a damage card. A robot
+     * standing on several beams is hit by each of them.
+     *
+     * @param board the board of the lasers
+     * @return the players whose robots were hit, once for every hit, in the
+     *         order of the lasers (by the cell numbers of the lasers); the list
+     *         is unmodifiable and reused, so it is valid until the lasers fire again
+     */
+    public List<Player> fire(@NotNull Board board) {
+        hits.clear();
+        int count = getLaserCount();
+        if (count == 0) {
+            return hitsView;
+        }
+        Arrays.fill(first, Integer.MAX_VALUE);
+        for (int k = 0, n = board.getOccupiedCount(); k < n; k++) {
+            Space space = board.getOccupiedSpace(k);
+            int cell = space.y * width + space.x;
+            int i = Arrays.binarySearch(keys, (long) cell << 32);
+            if (i < 0) {
+                i = -i - 1;
+            }
+            for (; i < keys.length && (int) (keys[i] >>> 32) == cell; i++) {
+                int laser = (int) (keys[i] >>> 16) & 0xFFFF;
+                int position = (int) keys[i] & 0xFFFF;
+                if (position < first[laser]) {
+                    first[laser] = position;
+                    targets[laser] = space.getPlayer();
+                }
+            }
+        }
+        for (int laser = 0; laser < count; laser++) {
+            Player player = targets[laser];
+            if (player != null) {
+                targets[laser] = null;
+                player.takeDamage();
+                hits.add(player);
+            }
+        }
+        return hitsView;
+    }
+}
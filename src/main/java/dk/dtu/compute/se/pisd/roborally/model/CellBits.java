@@ -0,0 +1,104 @@
+
+/*
+ *  This file is part of the initial project provided for the
+ *  course "Project in Software Development (02362)" held at
+ *  DTU Compute at the Technical University of Denmark.
+ *
+ *  Copyright (C) 2019, 2020: Ekkart Kindler, ekki@dtu.dk
+ *
+ *  This software is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; version 2 of the License.
+ *
+ *  This project is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this project; if not, write to the Free Software
+ *  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package dk.dtu.compute.se.pisd.roborally.model;
+
+import java.util.Arrays;
+
+/**
+ * A bit set over the cell numbers of a board (see {@link TileGrid}): bit
+ * {@code cell % 64} of word {@code cell / 64}. The words are stored in blocks
+ * of {@link #BLOCK_SIZE} consecutive words; all blocks without any bit set share
+ * the same (empty) block, and a block of its own is allocated only, when a bit
+ * is set in it. This way, the bit sets of a large board with only a few walls
+ * and robots need memory for the blocks with walls and robots only, similar to
+ * the chunks of a {@link ChunkedTileGrid}. Other than the chunks of the tiles,
+ * the blocks consist of consecutive words, so that a row of the board can still
+ * be looked at a word at a time.
+ *
+ * @author Ekkart Kindler, ekki@dtu.dk
+ */
+final class CellBits {
+
+    static final int BLOCK_SIZE = 64;
+
+    private static final int BLOCK_BITS = 6;
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    private static final long[] EMPTY_BLOCK = new long[BLOCK_SIZE];
+
+    private final long[][] blocks;
+
+    CellBits(int cells) {
+        int words = (cells + 63) >> 6;
+        blocks = new long[(words + BLOCK_MASK) >> BLOCK_BITS][];
+        Arrays.fill(blocks, EMPTY_BLOCK);
+    }
+
+    /**
+     * Returns the word with the given index, i.e. the bits of the cells
+     * {@code 64 * index} to {@code 64 * index + 63}.
+     *
+     * @param index the index of the word
+     * @return the word
+     */
+    long word(int index) {
+        return blocks[index >> BLOCK_BITS][index & BLOCK_MASK];
+    }
+
+    boolean get(int cell) {
+        return (word(cell >> 6) & 1L << cell) != 0;
+    }
+
+    void set(int cell) {
+        int word = cell >> 6;
+        long[] block = blocks[word >> BLOCK_BITS];
+        if (block == EMPTY_BLOCK) {
+            block = new long[BLOCK_SIZE];
+            blocks[word >> BLOCK_BITS] = block;
+        }
+        block[word & BLOCK_MASK] |= 1L << cell;
+    }
+
+    void clear(int cell) {
+        int word = cell >> 6;
+        long[] block = blocks[word >> BLOCK_BITS];
+        if (block != EMPTY_BLOCK) {
+            block[word & BLOCK_MASK] &= ~(1L << cell);
+        }
+    }
+
+    /**
+     * Returns the number of blocks which were allocated for bits which are set.
+     *
+     * @return the number of allocated blocks
+     */
+    int getAllocatedBlocks() {
+        int count = 0;
+        for (long[] block : blocks) {
+            if (block != EMPTY_BLOCK) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
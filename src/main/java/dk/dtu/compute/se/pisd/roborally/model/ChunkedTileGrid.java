@@ -0,0 +1,134 @@
+
+/*
+ *  This file is part of the initial project provided for the
+ *  course "Project in Software Development (02362)" held at
+ *  DTU Compute at the Technical University of Denmark.
+ *
+ *  Copyright (C) 2019, 2020: Ekkart Kindler, ekki@dtu.dk
+ *
+ *  This software is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; version 2 of the License.
+ *
+ *  This project is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this project; if not, write to the Free Software
+ *  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package dk.dtu.compute.se.pisd.roborally.model;
+
+import java.util.Arrays;
+
+/**
+ * A {@link TileGrid} which stores the tiles in chunks of {@link #CHUNK_SIZE} x
+ * {@link #CHUNK_SIZE} cells. All chunks which contain normal spaces only share
+ * the same (empty) chunk; a chunk of its own is allocated only, when a tile other
+ * than a normal space is set in it. This way, a large board which consists mostly
+ * of normal spaces needs memory for the chunks with other tiles only.
+ *
+ * @author Ekkart Kindler, ekki@dtu.dk
+ */
+final class ChunkedTileGrid extends TileGrid {
+
+    static final int CHUNK_SIZE = 16;
+
+    private static final int CHUNK_BITS = 4;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private static final short[] EMPTY_CHUNK = new short[CHUNK_SIZE * CHUNK_SIZE];
+
+    static {
+        Arrays.fill(EMPTY_CHUNK, NORMAL_TILE);
+    }
+
+    private final int chunksPerRow;
+
+    private final short[][] chunks;
+
+    ChunkedTileGrid(int width, int height) {
+        super(width, height);
+        chunksPerRow = (width + CHUNK_MASK) >> CHUNK_BITS;
+        chunks = new short[chunksPerRow * ((height + CHUNK_MASK) >> CHUNK_BITS)][];
+        Arrays.fill(chunks, EMPTY_CHUNK);
+    }
+
+    @Override
+    public boolean isSparse() {
+        return true;
+    }
+
+    /**
+     * Returns the number of chunks which were allocated for tiles other than
+     * normal spaces.
+     *
+     * @return the number of allocated chunks
+     */
+    int getAllocatedChunks() {
+        int count = 0;
+        for (short[] chunk : chunks) {
+            if (chunk != EMPTY_CHUNK) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int[] getSpecialCells() {
+        int[] cells = new int[16];
+        int count = 0;
+        for (int c = 0; c < chunks.length; c++) {
+            short[] chunk = chunks[c];
+            if (chunk == EMPTY_CHUNK) {
+                continue;
+            }
+            int x0 = (c % chunksPerRow) << CHUNK_BITS;
+            int y0 = (c / chunksPerRow) << CHUNK_BITS;
+            for (int i = 0; i < chunk.length; i++) {
+                if (chunk[i] != NORMAL_TILE) {
+                    if (count == cells.length) {
+                        cells = Arrays.copyOf(cells, 2 * count);
+                    }
+                    cells[count++] = (y0 + (i >> CHUNK_BITS)) * width + x0 + (i & CHUNK_MASK);
+                }
+            }
+        }
+        cells = Arrays.copyOf(cells, count);
+        Arrays.sort(cells);
+        return cells;
+    }
+
+    private int chunk(int x, int y) {
+        return (y >> CHUNK_BITS) * chunksPerRow + (x >> CHUNK_BITS);
+    }
+
+    private static int offset(int x, int y) {
+        return (y & CHUNK_MASK) << CHUNK_BITS | (x & CHUNK_MASK);
+    }
+
+    @Override
+    short getTile(int cell) {
+        int x = cell % width;
+        int y = cell / width;
+        return chunks[chunk(x, y)][offset(x, y)];
+    }
+
+    @Override
+    void setTile(int cell, short tile) {
+        int x = cell % width;
+        int y = cell / width;
+        int c = chunk(x, y);
+        if (chunks[c] == EMPTY_CHUNK) {
+            if (tile == NORMAL_TILE) {
+                return;
+            }
+            chunks[c] = EMPTY_CHUNK.clone();
+        }
+        chunks[c][offset(x, y)] = tile;
+    }
+}
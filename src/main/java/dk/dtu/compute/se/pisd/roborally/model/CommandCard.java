@@ -21,13 +21,14 @@
  */
 package dk.dtu.compute.se.pisd.roborally.model;
 
-import com.google.gson.annotations.Expose;
-import dk.dtu.compute.se.pisd.designpatterns.observer.Subject;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Objects;
+import java.io.IOException;
 
 /**
  * Represents a command card in the RoboRally game, which is used to issue
@@ -35,30 +36,81 @@ import java.util.Objects;
  * command that can be executed, such as moving forward or turning. These cards
  * are central to the game's mechanics, allowing players to control their robots
  * and interact with the game board.
+ * <p>
+ * Cards are immutable flyweights: there is exactly one card for each command and
+ * type, which is obtained by {@link #of(Command, String)}, so creating a card does
+ * not cost anything. Each card has a small integer {@link #handle}, by which the
+ * decks hold their cards (see {@link #get(int)}) and the views look up the images
+ * of the cards. When a game is saved, a card is written with its command and
+ * type, and when the game is loaded again, the shared card is looked up by
+ * {@link #of(Command, String)} (see {@link Adapter}).
  * @author Ekkart Kindler, ekki@dtu.dk
  */
-public class CommandCard extends Subject {
-    @Expose
-    final public Command command;
-    @Expose
-    private ImageView cardImage;
+@JsonAdapter(CommandCard.Adapter.class)
+public final class CommandCard {
+
+    /**
+     * The types of cards: programming cards, upgrade cards and damage cards.
+     */
+    private static final String[] TYPES = {"program", "upgrade", "damage"};
 
+    private static final Command[] COMMANDS = Command.values();
 
+    /**
+     * The cards of all commands and types, indexed by their handles.
+     */
+    private static final CommandCard[] CARDS = new CommandCard[TYPES.length * COMMANDS.length];
 
-    private String type;
+    static {
+        for (int t = 0; t < TYPES.length; t++) {
+            for (Command command : COMMANDS) {
+                int handle = t * COMMANDS.length + command.ordinal();
+                CARDS[handle] = new CommandCard(command, TYPES[t], handle);
+            }
+        }
+    }
 
     /**
-     * Constructs a new CommandCard with the specified command.
-     * @param command The command that this card represents.
+     * The number of different cards, i.e. the handles of the cards are between
+     * 0 (inclusive) and this number (exclusive).
      */
-    public CommandCard(@NotNull Command command, String type) {
+    public static final int HANDLES = CARDS.length;
+
+    final public Command command;
+
+    final public int handle;
+
+    private final String type;
+
+    private CommandCard(@NotNull Command command, @NotNull String type, int handle) {
         this.command = command;
-        if(command.getName() != null) {
-            Image image = new Image(Objects.requireNonNull(getClass().getResourceAsStream("/" + command.getName() + ".png")));
-            cardImage = new ImageView(image);
+        this.type = type;
+        this.handle = handle;
+    }
 
+    /**
+     * Returns the card with the specified command and type.
+     * @param command The command that the card represents.
+     * @param type The type of the card ("program", "upgrade" or "damage").
+     * @return the shared card with this command and type
+     * @throws IllegalArgumentException if there is no such type of cards
+     */
+    public static CommandCard of(@NotNull Command command, @NotNull String type) {
+        for (int t = 0; t < TYPES.length; t++) {
+            if (TYPES[t].equals(type)) {
+                return CARDS[t * COMMANDS.length + command.ordinal()];
+            }
         }
-        this.type = type;
+        throw new IllegalArgumentException("There is no type of cards " + type);
+    }
+
+    /**
+     * Returns the card with the specified handle.
+     * @param handle The handle of the card.
+     * @return the card with this handle
+     */
+    public static CommandCard get(int handle) {
+        return CARDS[handle];
     }
 
     /**
@@ -75,13 +127,56 @@ public class CommandCard extends Subject {
     }
 
 
-    public ImageView getCardImage() {
-        return cardImage;
-    }
-
     public String getType() {
         return type;
     }
 
+    /**
+     * Writes a card as its command and type, and reads it again as the shared
+     * card with this command and type, so that loading a game does not create
+     * cards of its own. Cards which were saved without a type are read as
+     * programming cards.
+     */
+    static final class Adapter extends TypeAdapter<CommandCard> {
 
+        @Override
+        public void write(JsonWriter out, CommandCard card) throws IOException {
+            if (card == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("command").value(card.command.name());
+            out.name("type").value(card.type);
+            out.endObject();
+        }
+
+        @Override
+        public CommandCard read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            Command command = null;
+            String type = TYPES[0];
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "command":
+                        command = Command.valueOf(in.nextString());
+                        break;
+                    case "type":
+                        type = in.nextString();
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
+            if (command == null) {
+                throw new IOException("A card must have a command");
+            }
+            return of(command, type);
+        }
+    }
 }
@@ -64,6 +64,15 @@ public class CommandCardField extends Subject {
         return Optional.ofNullable(card);
     }
 
+    /**
+     * Gets the command card currently placed in this field, without wrapping it
+     * into an Optional (for loops over the fields of all players).
+     * @return the card in this field, or null if the field is empty
+     */
+    public CommandCard getCardOrNull() {
+        return card;
+    }
+
     /**
      * Sets or replaces the command card in this field. Notifies observers of the change.
      * @param card The new command card to place in the field, or null to remove the current card.
@@ -71,7 +80,7 @@ public class CommandCardField extends Subject {
     public void setCard(CommandCard card) {
         if (card != this.card) {
             this.card = card;
-            notifyChange();
+            notifyChange(GameChange.CARD);
         }
     }
 
@@ -90,7 +99,7 @@ public class CommandCardField extends Subject {
     public void setVisible(boolean visible) {
         if (visible != this.visible) {
             this.visible = visible;
-            notifyChange();
+            notifyChange(GameChange.VISIBLE);
         }
     }
     public String getType() {
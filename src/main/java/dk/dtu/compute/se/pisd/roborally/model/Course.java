@@ -3,6 +3,7 @@ package dk.dtu.compute.se.pisd.roborally.model;
 import com.google.gson.annotations.Expose;
 
 import java.util.ArrayList;
+import java.util.List;
 
 public class Course {
     @Expose
@@ -13,6 +14,14 @@ public class Course {
     @Expose
     private ArrayList<ArrayList<Space>> spaces;
 
+    /**
+     * The special tiles of a sparse course: only the spaces which are not normal
+     * spaces, each with its own coordinates. If this list is null, the course
+     * lists all its spaces in {@link #spaces}, row by row.
+     */
+    @Expose
+    private ArrayList<Space> tiles;
+
     public Course(int width, int height) {
         this.width = width;
         this.height = height;
@@ -25,4 +34,36 @@ public class Course {
         return spaces;
     }
 
+    /**
+     * Returns whether the course lists its special tiles only (see {@link #getTiles()});
+     * a board created from such a course stores its tiles sparsely.
+     *
+     * @return true if the course is sparse, false otherwise
+     */
+    public boolean isSparse() {
+        return tiles != null;
+    }
+
+    /**
+     * Returns the special tiles of a sparse course, or null if the course is not sparse.
+     *
+     * @return the list of the special tiles
+     */
+    public List<Space> getTiles() {
+        return tiles;
+    }
+
+    /**
+     * Adds a special tile to the course, which makes the course sparse; all
+     * spaces of a sparse course which are not added are normal spaces.
+     *
+     * @param tile the space with the type, heading, index and coordinates of the tile
+     */
+    public void addTile(Space tile) {
+        if (tiles == null) {
+            tiles = new ArrayList<>();
+        }
+        tiles.add(tile);
+    }
+
 }
@@ -2,78 +2,160 @@ package dk.dtu.compute.se.pisd.roborally.model;
 
 import dk.dtu.compute.se.pisd.roborally.controller.GameController;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
-
+import java.util.SplittableRandom;
+
+/**
+ * The deck of a player (or of the shop), consisting of the draw pile and the
+ * discard pile. When the draw pile is used up, the discard pile is shuffled
+ * and becomes the new draw pile.
+ * <p>
+ * Both piles are held in a single ring buffer of card handles (see
+ * {@link CommandCard#handle}): the draw pile
+ * starts at {@code head}, and the discard pile follows directly after it.
+ * Dealing takes the card at {@code head}, discarding appends a card after the
+ * discard pile, and turning the discard pile into the draw pile does not move
+ * any card, except for the in-place Fisher–Yates shuffle.
+ */
 public class Deck {
 
-    private ArrayList<CommandCard> deck = new ArrayList<>();
-    private ArrayList<CommandCard> discardPile = new ArrayList<>();
-    private ArrayList<CommandCard> upgradeDeck = new ArrayList<>();
+    private static final int PROGRAM_CARDS = 52;
+    private static final int UPGRADE_CARDS = 33;
+
     private String type;
 
     private GameController gameController;
 
+    // every deck has its own generator, split from the one of the game
+    private final SplittableRandom random;
+
+    // the ring buffer of card handles: first the draw pile, then the discard pile
+    private int[] handles = new int[64];
+    private int head;
+    private int drawSize;
+    private int discardSize;
 
     public Deck(String type,GameController gameController) {
         this.type = type;
         this.gameController = gameController;
-
-        if (!Objects.equals(type, "upgrade")) {
-            for (int i = 0; i < 52; i++) {
-                deck.add(gameController.generateRandomCommandCard());
-            }
-        } else {
-            for (int j = 0; j < 33; j++) {
-                deck.add(gameController.generateUpgradeCard());
-            }
-        }
+        this.random = gameController.splitRandom();
+        generateCards();
     }
 
-    //private Deck upgradeDeck = new Deck("upgrade", gameController);
-
     public void generateUpgradeDeck(GameController gameController) {
         this.gameController = gameController;
-
-        for (int i = 0; i < 33; i++) {
-            upgradeDeck.add(gameController.generateUpgradeCard());
+        if (drawSize == 0) {
+            generateCards();
         }
-        //return upgradeDeck;
     }
 
+    /**
+     * Turns the discard pile into the draw pile, which is shuffled in place.
+     * The cards which are still in the draw pile stay on top.
+     */
     public void shuffleDeck(){
-        for(int i = 0; i < discardPile.size();i++){
-            int random = (int) (Math.random() * discardPile.size());
-            deck.add(discardPile.remove(random));
+        int start = head + drawSize;
+        for (int i = discardSize - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int a = slot(start + i);
+            int b = slot(start + j);
+            int handle = handles[a];
+            handles[a] = handles[b];
+            handles[b] = handle;
         }
+        drawSize += discardSize;
+        discardSize = 0;
     }
 
     public void sendToDiscardPile(CommandCard card){
-        discardPile.add(card);
+        ensureCapacity();
+        handles[slot(head + drawSize + discardSize)] = card.handle;
+        discardSize++;
     }
 
+    /**
+     * Inserts the card at a random position of the draw pile. The card is put on
+     * top of the draw pile and then swapped with a random card of the draw pile.
+     *
+     * @param card the card to insert
+     */
     public void addToDeck(CommandCard card){
-        int random = (int) (Math.random() * deck.size());
-        deck.add(random,card);
+        ensureCapacity();
+        head = slot(head - 1);
+        drawSize++;
+        int a = head;
+        int b = slot(head + random.nextInt(drawSize));
+        handles[a] = handles[b];
+        handles[b] = card.handle;
     }
 
     public CommandCard deal() {
-        if(deck.size() != 8){
+        if (drawSize == 0) {
             shuffleDeck();
         }
+        if (drawSize == 0) {
+            generateCards();
+        }
+        CommandCard card = CommandCard.get(handles[head]);
+        head = slot(head + 1);
+        drawSize--;
+        return card;
+    }
+
+    /**
+     * Returns the number of cards in the draw pile.
+     *
+     * @return the number of cards in the draw pile
+     */
+    public int getDrawPileSize() {
+        return drawSize;
+    }
+
+    /**
+     * Returns the number of cards in the discard pile.
+     *
+     * @return the number of cards in the discard pile
+     */
+    public int getDiscardPileSize() {
+        return discardSize;
+    }
+
+    private void generateCards() {
+        if (!Objects.equals(type, "upgrade")) {
+            for (int i = 0; i < PROGRAM_CARDS; i++) {
+                addToDrawPile(gameController.generateRandomCommandCard(random));
+            }
+        } else {
+            for (int i = 0; i < UPGRADE_CARDS; i++) {
+                addToDrawPile(gameController.generateUpgradeCard(random));
+            }
+        }
+    }
+
+    private void addToDrawPile(CommandCard card) {
+        ensureCapacity();
+        int end = head + drawSize;
+        if (discardSize > 0) {
+            // the first card of the discard pile makes room at its end
+            handles[slot(end + discardSize)] = handles[slot(end)];
+        }
+        handles[slot(end)] = card.handle;
+        drawSize++;
+    }
+
+    private int slot(int index) {
+        return index & (handles.length - 1);
+    }
 
-        if(deck.isEmpty()){
-            if (!Objects.equals(type, "upgrade")) {
-                for (int i = 0; i < 52; i++) {
-                    deck.add(gameController.generateRandomCommandCard());
-                }
-            } else {
-                for (int j = 0; j < 33; j++) {
-                    deck.add(gameController.generateUpgradeCard());
-                }
+    private void ensureCapacity() {
+        int size = drawSize + discardSize;
+        if (size == handles.length) {
+            int[] grown = new int[handles.length * 2];
+            for (int i = 0; i < size; i++) {
+                grown[i] = handles[slot(head + i)];
             }
+            handles = grown;
+            head = 0;
         }
-        return deck.remove(deck.size() - 1);
     }
 }
@@ -0,0 +1,74 @@
+
+/*
+ *  This file is part of the initial project provided for the
+ *  course "Project in Software Development (02362)" held at
+ *  DTU Compute at the Technical University of Denmark.
+ *
+ *  Copyright (C) 2019, 2020: Ekkart Kindler, ekki@dtu.dk
+ *
+ *  This software is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; version 2 of the License.
+ *
+ *  This project is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this project; if not, write to the Free Software
+ *  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package dk.dtu.compute.se.pisd.roborally.model;
+
+import java.util.Arrays;
+
+/**
+ * A {@link TileGrid} which stores the tiles of all cells in one array.
+ *
+ * @author Ekkart Kindler, ekki@dtu.dk
+ */
+final class DenseTileGrid extends TileGrid {
+
+    private final short[] tiles;
+
+    DenseTileGrid(int width, int height) {
+        super(width, height);
+        tiles = new short[width * height];
+        Arrays.fill(tiles, NORMAL_TILE);
+    }
+
+    @Override
+    public boolean isSparse() {
+        return false;
+    }
+
+    @Override
+    public int[] getSpecialCells() {
+        int count = 0;
+        for (short tile : tiles) {
+            if (tile != NORMAL_TILE) {
+                count++;
+            }
+        }
+        int[] cells = new int[count];
+        count = 0;
+        for (int cell = 0; cell < tiles.length; cell++) {
+            if (tiles[cell] != NORMAL_TILE) {
+                cells[count++] = cell;
+            }
+        }
+        return cells;
+    }
+
+    @Override
+    short getTile(int cell) {
+        return tiles[cell];
+    }
+
+    @Override
+    void setTile(int cell, short tile) {
+        tiles[cell] = tile;
+    }
+}
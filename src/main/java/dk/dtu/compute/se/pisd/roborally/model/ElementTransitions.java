@@ -0,0 +1,460 @@
+
+/*
+ *  This file is part of the initial project provided for the
+ *  course "Project in Software Development (02362)" held at
+ *  DTU Compute at the Technical University of Denmark.
+ *
+ *  Copyright (C) 2019, 2020: Ekkart Kindler, ekki@dtu.dk
+ *
+ *  This software is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; version 2 of the License.
+ *
+ *  This project is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this project; if not, write to the Free Software
+ *  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package dk.dtu.compute.se.pisd.roborally.model;
+
+import dk.dtu.compute.se.pisd.designpatterns.observer.Subject;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * The movement of the robots by the conveyor belts and gears of a board, compiled
+ * into a table when the board is created. For every belt and gear (identified by
+ * the cell number {@code y * width + x} of its space), the table holds the space
+ * on which a robot ends up after the belt or gear was activated, the space which
+ * the robot passes on the way (for express belts), and the number of quarter turns
+ * (clockwise) by which the robot is rotated. This way, activating a belt or gear
+ * is a lookup in the table, instead of computing the path of the robot step by
+ * step. A belt stops the robot before a wall and at the edge of the board.
+ * The entries are kept for the belts and gears only; for a dense board, they are
+ * found through an array over all cells, and for a sparse board (see
+ * {@link TileGrid#sparse(int, int)}) by a binary search over the cell numbers,
+ * so that the table does not grow with the size of a sparse board.
+ *
+ * @author Ekkart Kindler, ekki@dtu.dk
+ */
+public final class ElementTransitions {
+
+    /**
+     * The value of {@link #getVia(int)}, if the robot does not pass any other space.
+     */
+    public static final int NONE = -1;
+
+    private final int width;
+
+    private final int[] cells;
+
+    private final int[] target;
+
+    private final int[] via;
+
+    private final byte[] rotation;
+
+    /**
+     * For a dense board, the entry of every cell plus one (0 for cells which
+     * are neither belts nor gears); null for a sparse board.
+     */
+    private final int[] entries;
+
+    // the scratch buffers of applySimultaneously, for up to capacity robots,
+    // which are reused, so that activating the belts and gears does not allocate
+    private int capacity;
+    private Player[] players;
+    private int[] from;
+    private int[] first;
+    private int[] to;
+    private int[] turns;
+    private long[] robots;
+    private long[] firsts;
+    private long[] finals;
+    private boolean[] stopped;
+    private int[] queue;
+
+    /**
+     * Compiles the transitions of the belts and gears of the given board.
+     *
+     * @param board the board
+     */
+    ElementTransitions(@NotNull Board board) {
+        TileGrid tiles = board.getTiles();
+        width = tiles.width;
+        int[] special = tiles.getSpecialCells();
+        int count = 0;
+        for (int cell : special) {
+            if (isBeltOrGear(tiles.getType(cell))) {
+                special[count++] = cell;
+            }
+        }
+        cells = Arrays.copyOf(special, count);
+        target = new int[count];
+        via = new int[count];
+        rotation = new byte[count];
+        entries = tiles.isSparse() ? null : new int[tiles.width * tiles.height];
+        ensureCapacity(Board.MAX_PLAYERS);
+        for (int i = 0; i < count; i++) {
+            int cell = cells[i];
+            if (entries != null) {
+                entries[cell] = i + 1;
+            }
+            target[i] = cell;
+            via[i] = NONE;
+            Heading heading = tiles.getHeading(cell);
+            switch (tiles.getType(cell)) {
+                case CONVEYOR_BELT:
+                    target[i] = step(tiles, cell, heading);
+                    break;
+                case RIGHT_CONVEYOR_BELT:
+                    target[i] = step(tiles, cell, heading.next());
+                    break;
+                case LEFT_CONVEYOR_BELT:
+                    target[i] = step(tiles, cell, heading.prev());
+                    break;
+                case DOUBLE_CONVEYOR_BELT,
+                     DOUBLE_RIGHTTREE_CONVEYOR_BELT,
+                     DOUBLE_LEFTTREE_CONVEYOR_BELT:
+                    int first = step(tiles, cell, heading);
+                    target[i] = step(tiles, first, heading);
+                    if (first != cell && target[i] != first) {
+                        via[i] = first;
+                    }
+                    break;
+                case RIGHT_GEAR:
+                    rotation[i] = 1;
+                    break;
+                case LEFT_GEAR:
+                    rotation[i] = 3;
+                    break;
+                default:
+            }
+        }
+    }
+
+    private static boolean isBeltOrGear(ActionField type) {
+        switch (type) {
+            case CONVEYOR_BELT, RIGHT_CONVEYOR_BELT, LEFT_CONVEYOR_BELT,
+                 DOUBLE_CONVEYOR_BELT, DOUBLE_RIGHTTREE_CONVEYOR_BELT, DOUBLE_LEFTTREE_CONVEYOR_BELT,
+                 RIGHT_GEAR, LEFT_GEAR:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns the entry of the given cell in the table, or -1 if the cell is
+     * neither a belt nor a gear.
+     */
+    private int entry(int cell) {
+        if (entries != null) {
+            return entries[cell] - 1;
+        }
+        int i = Arrays.binarySearch(cells, cell);
+        return i >= 0 ? i : -1;
+    }
+
+    /**
+     * Returns the cell next to the given cell in the given heading, or the given
+     * cell itself if the next cell is a wall or beyond the edge of the board.
+     */
+    private static int step(TileGrid tiles, int cell, Heading heading) {
+        int x = cell % tiles.width + heading.dx();
+        int y = cell / tiles.width + heading.dy();
+        if (x < 0 || x >= tiles.width || y < 0 || y >= tiles.height ||
+                tiles.getType(tiles.cell(x, y)) == ActionField.WALL) {
+            return cell;
+        }
+        return tiles.cell(x, y);
+    }
+
+    /**
+     * Returns the cell number of the given space.
+     *
+     * @param space the space
+     * @return the cell number of the space
+     */
+    public int cell(@NotNull Space space) {
+        return space.y * width + space.x;
+    }
+
+    /**
+     * Returns the cell on which a robot on the given cell ends up, after the belt
+     * of the cell was activated. If the cell does not move robots, this is the
+     * cell itself.
+     *
+     * @param cell the cell number
+     * @return the cell number of the target
+     */
+    public int getTarget(int cell) {
+        int i = entry(cell);
+        return i >= 0 ? target[i] : cell;
+    }
+
+    /**
+     * Returns the cell which a robot passes on its way to the target (see
+     * {@link #getTarget(int)}), or {@link #NONE} if it does not pass any.
+     *
+     * @param cell the cell number
+     * @return the cell number of the passed cell, or {@link #NONE}
+     */
+    public int getVia(int cell) {
+        int i = entry(cell);
+        return i >= 0 ? via[i] : NONE;
+    }
+
+    /**
+     * Returns the number of quarter turns (clockwise) by which a robot on the
+     * given cell is rotated, when the gear of the cell is activated.
+     *
+     * @param cell the cell number
+     * @return the number of quarter turns, from 0 to 3
+     */
+    public int getRotation(int cell) {
+        int i = entry(cell);
+        return i >= 0 ? rotation[i] : 0;
+    }
+
+    /**
+     * Moves and rotates the robot on the given space as the belt or gear of the
+     * space does. A robot which would be moved onto a space occupied by another
+     * robot is not moved (robots on belts do not push other robots).
+     *
+     * @param space the space whose belt or gear is activated
+     */
+    public void apply(@NotNull Space space) {
+        Player player = space.getPlayer();
+        if (player == null) {
+            return;
+        }
+        Board board = space.board;
+        int cell = cell(space);
+        int i = entry(cell);
+        if (i < 0) {
+            return;
+        }
+        int turns = rotation[i];
+        if (turns != 0) {
+            player.setHeading(player.getHeading().rotate(turns));
+        }
+        if (target[i] != cell) {
+            Space passed = via[i] != NONE ? space(board, via[i]) : null;
+            Space destination = space(board, target[i]);
+            if (passed != null && passed.getPlayer() != null) {
+                return;
+            }
+            if (passed != null) {
+                player.enter(passed);
+            }
+            if (destination.getPlayer() == null) {
+                player.enter(destination);
+            }
+        }
+    }
+
+    /**
+     * Moves and rotates all robots on the belts and gears of the given phase at
+     * the same time, so that the result does not depend on the order in which the
+     * robots are looked at. First, the target of every robot is computed; then the
+     * conflicts are resolved the way the rulebook does. A robot on an express belt
+     * moves in two steps, and the robots make their first and their second steps
+     * at the same time:
+     * <ul>
+     *     <li>robots which would be on the same space after a step do not move;</li>
+     *     <li>two robots which would move onto each other's spaces (head-on)
+     *         do not move;</li>
+     *     <li>a robot does not move onto (or pass) a space with a robot which does
+     *         not move; this applies to robots which stopped because of a conflict
+     *         as well, so a line of robots behind a stopped robot stops too.</li>
+     * </ul>
+     * A robot moves onto a space which another robot leaves in the same step,
+     * so a line of robots on a belt moves as one. Finally, all the moves are
+     * committed in one batch (see {@link Subject#beginBatch()}). Each robot is
+     * looked at and stopped at most once, and the robots on a space are found
+     * by binary search, so the costs grow with n log n for n robots,
+     * independently of the size of the board. The buffers of the robots are
+     * kept by this object and reused, so that the method does not allocate.
+     *
+     * @param board the board of the robots
+     * @param phase the phase of the belts and gears to be activated
+     */
+    public void applySimultaneously(@NotNull Board board, @NotNull ActivationPhase phase) {
+        int n = board.getOccupiedCount();
+        ensureCapacity(n);
+        // the cells of the robots and the cells which the moving robots reach
+        // after their first and their last step, each as cell << 32 | robot
+        int moving = 0;
+        for (int k = 0; k < n; k++) {
+            Space space = board.getOccupiedSpace(k);
+            players[k] = space.getPlayer();
+            from[k] = cell(space);
+            first[k] = from[k];
+            to[k] = from[k];
+            turns[k] = 0;
+            int i = phase.includes(space.getType()) ? entry(from[k]) : -1;
+            if (i >= 0) {
+                to[k] = target[i];
+                first[k] = via[i] != NONE ? via[i] : target[i];
+                turns[k] = rotation[i];
+            }
+            robots[k] = key(from[k], k);
+            if (to[k] != from[k]) {
+                firsts[moving] = key(first[k], k);
+                finals[moving] = key(to[k], k);
+                moving++;
+            }
+        }
+        Arrays.sort(robots, 0, n);
+        Arrays.sort(firsts, 0, moving);
+        Arrays.sort(finals, 0, moving);
+
+        // the robots which do not move; each is put into the queue once, so that
+        // the robots which would move onto its space are stopped as well
+        int tail = 0;
+        for (int k = 0; k < n; k++) {
+            stopped[k] = to[k] == from[k];
+            if (stopped[k]) {
+                queue[tail++] = k;
+            }
+        }
+        tail = stopSharedCells(firsts, moving, tail);
+        tail = stopSharedCells(finals, moving, tail);
+        for (int c = 0; c < moving; c++) {
+            int a = robotOf(firsts[c]);
+            // head-on in the first step
+            int r = find(robots, n, first[a]);
+            if (r >= 0) {
+                int b = robotOf(robots[r]);
+                if (to[b] != from[b] && first[b] == from[a]) {
+                    tail = stop(a, tail);
+                    tail = stop(b, tail);
+                }
+            }
+            // head-on in the second step
+            if (first[a] != to[a]) {
+                for (int f = find(firsts, moving, to[a]); f >= 0 && f < moving && cellOf(firsts[f]) == to[a]; f++) {
+                    int b = robotOf(firsts[f]);
+                    if (first[b] != to[b] && to[b] == first[a]) {
+                        tail = stop(a, tail);
+                        tail = stop(b, tail);
+                    }
+                }
+            }
+        }
+        for (int head = 0; head < tail; head++) {
+            int cell = from[queue[head]];
+            for (int c = find(firsts, moving, cell); c >= 0 && c < moving && cellOf(firsts[c]) == cell; c++) {
+                tail = stop(robotOf(firsts[c]), tail);
+            }
+            for (int c = find(finals, moving, cell); c >= 0 && c < moving && cellOf(finals[c]) == cell; c++) {
+                tail = stop(robotOf(finals[c]), tail);
+            }
+        }
+
+        Subject.beginBatch();
+        try {
+            // all moving robots are taken off the board first, so that every
+            // robot can be put onto a space which another robot left
+            for (int k = 0; k < n; k++) {
+                if (!stopped[k]) {
+                    players[k].setSpace(null);
+                }
+            }
+            for (int k = 0; k < n; k++) {
+                if (!stopped[k]) {
+                    if (first[k] != to[k]) {
+                        players[k].enter(space(board, first[k]));
+                    }
+                    players[k].enter(space(board, to[k]));
+                }
+                if (turns[k] != 0) {
+                    players[k].setHeading(players[k].getHeading().rotate(turns[k]));
+                }
+                players[k] = null;
+            }
+        } finally {
+            Subject.commitBatch();
+        }
+    }
+
+    private void ensureCapacity(int n) {
+        if (n > capacity) {
+            capacity = Math.max(n, 2 * capacity);
+            players = new Player[capacity];
+            from = new int[capacity];
+            first = new int[capacity];
+            to = new int[capacity];
+            turns = new int[capacity];
+            robots = new long[capacity];
+            firsts = new long[capacity];
+            finals = new long[capacity];
+            stopped = new boolean[capacity];
+            queue = new int[capacity];
+        }
+    }
+
+    /**
+     * Stops all robots of the given sorted keys which share their cell with
+     * another robot.
+     */
+    private int stopSharedCells(long[] keys, int size, int tail) {
+        for (int c = 0; c < size; ) {
+            int cell = cellOf(keys[c]);
+            int d = c + 1;
+            while (d < size && cellOf(keys[d]) == cell) {
+                d++;
+            }
+            if (d - c > 1) {
+                for (int e = c; e < d; e++) {
+                    tail = stop(robotOf(keys[e]), tail);
+                }
+            }
+            c = d;
+        }
+        return tail;
+    }
+
+    private static long key(int cell, int robot) {
+        return (long) cell << 32 | robot;
+    }
+
+    private static int cellOf(long key) {
+        return (int) (key >>> 32);
+    }
+
+    private static int robotOf(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Returns the index of the first of the given sorted keys with the given
+     * cell, or -1 if there is none.
+     */
+    private static int find(long[] keys, int size, int cell) {
+        int i = Arrays.binarySearch(keys, 0, size, key(cell, 0));
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return i < size && cellOf(keys[i]) == cell ? i : -1;
+    }
+
+    private int stop(int robot, int tail) {
+        if (!stopped[robot]) {
+            stopped[robot] = true;
+            queue[tail++] = robot;
+        }
+        return tail;
+    }
+
+    private Space space(Board board, int cell) {
+        return board.getSpace(cell % width, cell / width);
+    }
+}
@@ -0,0 +1,46 @@
+
+/*
+ *  This file is part of the initial project provided for the
+ *  course "Project in Software Development (02362)" held at
+ *  DTU Compute at the Technical University of Denmark.
+ *
+ *  Copyright (C) 2019, 2020: Ekkart Kindler, ekki@dtu.dk
+ *
+ *  This software is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; version 2 of the License.
+ *
+ *  This project is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this project; if not, write to the Free Software
+ *  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package dk.dtu.compute.se.pisd.roborally.model;
+
+import dk.dtu.compute.se.pisd.designpatterns.observer.Change;
+
+/**
+ * Enumerates the descriptors of the changes, which the subjects of the RoboRally
+ * model pass to their observers. This allows the views to update only the parts
+ * which are affected by a change, instead of recomputing their complete state.
+ * @author Ekkart Kindler, ekki@dtu.dk
+ */
+public enum GameChange implements Change {
+
+    // changes of a player (which a player also forwards to the space it is on)
+    NAME, COLOR, HEADING, ENERGY,
+
+    // changes of the board; PROGRESS: a player reached a checkpoint
+    PHASE, STEP, STEP_MODE, PLAYERS, PROGRESS,
+
+    // changes of a space: the robot on the space, or the type of the space
+    PLAYER, TYPE,
+
+    // changes of a command card field: its card, or its visibility
+    CARD, VISIBLE
+}
@@ -31,13 +31,19 @@ package dk.dtu.compute.se.pisd.roborally.model;
 public enum Heading {
     SOUTH, WEST, NORTH, EAST;
 
+    // The headings are ordered clockwise; these tables are computed once, since
+    // values() returns a new copy of the array with every call.
+    private static final Heading[] HEADINGS = values();
+    private static final int[] DX = { 0, -1, 0, 1 };
+    private static final int[] DY = { 1, 0, -1, 0 };
+
     /**
      * Returns the next clockwise heading from this one.
      * For example, if the current heading is NORTH, the next heading will be EAST.
      * @return The next clockwise heading.
      */
     public Heading next() {
-        return values()[(this.ordinal() + 1) % values().length];
+        return HEADINGS[(this.ordinal() + 1) & 3];
     }
 
     /**
@@ -46,6 +52,41 @@ public enum Heading {
      * @return The previous counter-clockwise heading.
      */
     public Heading prev() {
-        return values()[(this.ordinal() + values().length - 1) % values().length];
+        return HEADINGS[(this.ordinal() + 3) & 3];
+    }
+
+    /**
+     * Returns the heading which is rotated from this one clockwise by the given
+     * number of quarter turns (counter-clockwise for a negative number).
+     * @param quarterTurns the number of quarter turns
+     * @return The rotated heading.
+     */
+    public Heading rotate(int quarterTurns) {
+        return HEADINGS[(this.ordinal() + quarterTurns) & 3];
+    }
+
+    /**
+     * Returns the opposite heading of this one.
+     * @return The opposite heading.
+     */
+    public Heading opposite() {
+        return HEADINGS[(this.ordinal() + 2) & 3];
+    }
+
+    /**
+     * Returns the change of the x coordinate by one step in this heading.
+     * @return -1, 0 or 1
+     */
+    public int dx() {
+        return DX[this.ordinal()];
+    }
+
+    /**
+     * Returns the change of the y coordinate by one step in this heading
+     * (the y coordinate grows towards the south).
+     * @return -1, 0 or 1
+     */
+    public int dy() {
+        return DY[this.ordinal()];
     }
 }
@@ -66,8 +66,6 @@ public class Player extends Subject {
     private CommandCardField[] upgradeInv;
     private int index = 0;
     @Expose
-    public double distance;
-    @Expose
     public Phase phase;
 
     private int energyCubes;
@@ -138,9 +136,12 @@ public class Player extends Subject {
     public void setName(String name) {
         if (name != null && !name.equals(this.name)) {
             this.name = name;
-            notifyChange();
+            if (board != null) {
+                board.playerRenamed(this);
+            }
+            notifyChange(GameChange.NAME);
             if (space != null) {
-                space.playerChanged();
+                space.playerChanged(GameChange.NAME);
             }
         }
     }
@@ -159,9 +160,9 @@ public class Player extends Subject {
      */
     public void setColor(String color) {
         this.color = color;
-        notifyChange();
+        notifyChange(GameChange.COLOR);
         if (space != null) {
-            space.playerChanged();
+            space.playerChanged(GameChange.COLOR);
         }
     }
 
@@ -207,9 +208,9 @@ public class Player extends Subject {
     public void setHeading(@NotNull Heading heading) {
         if (heading != this.heading) {
             this.heading = heading;
-            notifyChange();
+            notifyChange(GameChange.HEADING);
             if (space != null) {
-                space.playerChanged();
+                space.playerChanged(GameChange.HEADING);
             }
         }
     }
@@ -258,32 +259,57 @@ public class Player extends Subject {
     public void incrementIndex() {
         if (space.getIndex() == index + 1){
             index++;
+            board.checkpointReached(this);
         }
     }
 
+    /**
+     * Moves the player's robot by the given number of spaces in its heading, as far
+     * as possible (see {@link Board#moveRobot(Player, Heading, int)}), with the
+     * effects of the spaces which the robot enters on the way.
+     * @param n the number of spaces to move
+     */
     public void move(int n) {
-        if(n == 0) {
-            return;
-        } else {
-            move(n - 1);
+        move(heading, n);
+    }
+
+    /**
+     * Moves the player's robot by the given number of spaces in the given direction,
+     * as far as possible, with the effects of the spaces which the robot enters on
+     * the way. The heading of the robot does not change.
+     * @param direction the direction of the movement
+     * @param n the number of spaces to move
+     */
+    public void move(@NotNull Heading direction, int n) {
+        for (int i = 0; i < n; i++) {
+            if (board.moveRobot(this, direction, 1) == 0) {
+                return;
+            }
+            entered(space);
         }
+    }
 
-        Space nextSpace = switch (heading) {
-            case SOUTH -> board.getSpace(space.x, space.y + 1);
-            case NORTH -> board.getSpace(space.x, space.y - 1);
-            case WEST  -> board.getSpace(space.x - 1, space.y);
-            case EAST  -> board.getSpace(space.x + 1, space.y);
-        };
+    /**
+     * Moves the player onto the given space, with the effects which entering
+     * the space has on the player (reaching a checkpoint).
+     * @param nextSpace the space which the player enters
+     */
+    void enter(@NotNull Space nextSpace) {
+        setSpace(nextSpace);
+        entered(nextSpace);
+    }
 
-        if(nextSpace.getType() == ActionField.WALL)
-            return;
-        else if(nextSpace.getType() == ActionField.CHECKPOINT)
+    private void entered(@NotNull Space space) {
+        if(space.getType() == ActionField.CHECKPOINT)
             incrementIndex();
-        else if(nextSpace.getType() == ActionField.BOARD_LASER)
-            deck.sendToDiscardPile(gameController.generateDamageCard());
-            System.out.println("1 card sent to discard-pile");
+    }
 
-        setSpace(nextSpace);
+    /**
+     * Sends a damage card to the discard pile of the player, after the robot
+     * was hit by a laser (see {@link BoardLasers#fire(Board)}).
+     */
+    public void takeDamage() {
+        deck.sendToDiscardPile(gameController.generateDamageCard());
     }
 
     public int getIndex() {
@@ -306,7 +332,7 @@ public class Player extends Subject {
     public void incrementEnergy(int amount){
         this.energyCubes += amount;
 
-        notifyChange();
+        notifyChange(GameChange.ENERGY);
     }
 
     public Deck getDeck() {
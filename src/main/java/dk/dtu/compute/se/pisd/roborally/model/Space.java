@@ -23,13 +23,13 @@ package dk.dtu.compute.se.pisd.roborally.model;
 
 import com.google.gson.annotations.Expose;
 import dk.dtu.compute.se.pisd.designpatterns.observer.Subject;
-import javafx.scene.image.Image;
 
 
 /**
  * Represents a single space or tile on the RoboRally game board. Each space is
  * defined by its position on the board (x and y coordinates) and can hold a
- * single player (robot) at any given time.
+ * single player (robot) at any given time. The space holds no graphical
+ * resources; the views derive the tile image from its type, heading and index.
  * @author Ekkart Kindler, ekki@dtu.dk
  */
 public class Space extends Subject {
@@ -45,7 +45,6 @@ public class Space extends Subject {
     private final Heading heading;
     @Expose
     private final int index;
-    public Image image;
 
     /**
      * Constructs a new Space with the specified board and coordinates.
@@ -61,7 +60,6 @@ public class Space extends Subject {
         this.heading = Heading.NORTH;
         this.index = 0;
         player = null;
-        image = new Image(getClass().getResourceAsStream("/NORMAL.png" ));
     }
 
 
@@ -81,7 +79,6 @@ public class Space extends Subject {
         this.heading = heading;
         this.index = 0;
         player = null;
-        image = new Image(getClass().getResourceAsStream("/" + this.type + ".png" ));
     }
 
     /**
@@ -99,7 +96,6 @@ public class Space extends Subject {
         this.heading = Heading.NORTH;
         this.index = index;
         player = null;
-        image = new Image(getClass().getResourceAsStream("/" + this.index + ".png" ));
     }
 
     public int getIndex() {
@@ -111,8 +107,31 @@ public class Space extends Subject {
     }
 
     public void setType(ActionField t) {
+       ActionField oldType = this.type;
        this.type = t;
-       notifyChange();
+       if (board != null && t != oldType) {
+           board.typeChanged(this, oldType);
+       }
+       notifyChange(GameChange.TYPE);
+    }
+
+    /**
+     * Returns whether this space must be kept by the board, since it is occupied
+     * by a robot or observed by a view. On a sparse board, other spaces are
+     * dropped when they are not used anymore, and created again from the tiles
+     * when they are needed (see {@link Board#getSpace(int, int)}).
+     *
+     * @return true if the space is occupied or observed
+     */
+    boolean isRetained() {
+        return player != null || isObserved();
+    }
+
+    @Override
+    protected void observedChanged() {
+        if (board != null) {
+            board.retentionChanged(this);
+        }
     }
 
     /**
@@ -148,15 +167,18 @@ public class Space extends Subject {
         Player oldPlayer = this.player;
         if (player != oldPlayer && (player == null || board == player.board)) {
             this.player = player;
+            if (board != null && (oldPlayer == null || player == null)) {
+                board.occupancyChanged(this);
+            }
             if (oldPlayer != null) {
                 // this should actually not happen
                 oldPlayer.setSpace(null);
-                notifyChange();
+                notifyChange(GameChange.PLAYER);
             }
             if (player != null) {
                 player.setSpace(this);
             }
-            notifyChange();
+            notifyChange(GameChange.PLAYER);
         }
     }
 
@@ -166,41 +188,26 @@ public class Space extends Subject {
      */
     public void activate() {
         if(player != null) {
-            Heading oldHeading = player.getHeading();
             Player p = this.getPlayer();
             switch (type) {
-                case LEFT_CONVEYOR_BELT:
-                    p.setHeading(heading.prev());
-                    p.move(1);
-                    p.setHeading(oldHeading);
-                    break;
-                case RIGHT_CONVEYOR_BELT:
-                    p.setHeading(heading.next());
-                    p.move(1);
-                    p.setHeading(oldHeading);
-                    break;
-                case CONVEYOR_BELT, PUSH_PANEL:
-                    p.setHeading(heading);
-                    p.move(1);
-                    p.setHeading(oldHeading);
-                    break;
-                case DOUBLE_CONVEYOR_BELT,
+                case LEFT_CONVEYOR_BELT,
+                     RIGHT_CONVEYOR_BELT,
+                     CONVEYOR_BELT,
+                     DOUBLE_CONVEYOR_BELT,
                      DOUBLE_RIGHTTREE_CONVEYOR_BELT,
-                     DOUBLE_LEFTTREE_CONVEYOR_BELT:
-                    p.setHeading(heading);
-                    p.move(2);
-                    p.setHeading(oldHeading);
-                    break;
-                case LEFT_GEAR:
-                    p.setHeading(p.getHeading().prev());
+                     DOUBLE_LEFTTREE_CONVEYOR_BELT,
+                     LEFT_GEAR,
+                     RIGHT_GEAR:
+                    // the movement of belts and gears is compiled by the board
+                    board.getTransitions().apply(this);
                     break;
-                case RIGHT_GEAR:
-                    p.setHeading(p.getHeading().next());
+                case PUSH_PANEL:
+                    p.move(heading, 1);
                     break;
                 case BOARD_LASER_START,
                      BOARD_LASER,
                      BOARD_LASER_END:
-                    // TODO: Implement BOARD_LASER
+                    // the board lasers fire all at once (see BoardLasers)
                     return;
                 case PIT:
                     // TODO: Implement PIT
@@ -226,11 +233,11 @@ public class Space extends Subject {
         }
     }
 
-    void playerChanged() {
+    void playerChanged(GameChange change) {
         // This is a minor hack; since some views that are registered with the space
         // also need to update when some player attributes change, the player can
         // notify the space of these changes by calling this method.
-        notifyChange();
+        notifyChange(change);
     }
 
     public Phase getPhase() {
@@ -0,0 +1,205 @@
+
+/*
+ *  This file is part of the initial project provided for the
+ *  course "Project in Software Development (02362)" held at
+ *  DTU Compute at the Technical University of Denmark.
+ *
+ *  Copyright (C) 2019, 2020: Ekkart Kindler, ekki@dtu.dk
+ *
+ *  This software is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; version 2 of the License.
+ *
+ *  This project is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this project; if not, write to the Free Software
+ *  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package dk.dtu.compute.se.pisd.roborally.model;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+/**
+ * The spaces of a sparse board, by their cell number (see {@link TileGrid}).
+ * The cell numbers are kept in an open addressing hash table of primitive ints,
+ * so that looking up a space neither boxes the cell number nor allocates an
+ * entry object.
+ * <p>
+ * A space which is retained (see {@link Space#isRetained()}), i.e. a space which
+ * is occupied by a robot or observed by a view, is referenced strongly. All other
+ * spaces are referenced weakly only: since such a space can be created again from
+ * the tiles of the board at any time, it is dropped from the table, once it is not
+ * used anymore. This way, the table holds the spaces which are occupied, observed
+ * or currently in use only, and not every space which was ever looked at.
+ *
+ * @author Ekkart Kindler, ekki@dtu.dk
+ */
+final class SpaceTable {
+
+    private static final int FREE = -1;
+
+    /**
+     * A weak reference to a space which is not retained, which remembers the
+     * cell of the space, so that its entry can be removed from the table, once
+     * the space became garbage.
+     */
+    private static final class SpaceReference extends WeakReference<Space> {
+
+        final int cell;
+
+        SpaceReference(Space space, int cell, ReferenceQueue<Space> queue) {
+            super(space, queue);
+            this.cell = cell;
+        }
+    }
+
+    private final ReferenceQueue<Space> queue = new ReferenceQueue<>();
+
+    // the cell numbers and the spaces (or weak references to the spaces);
+    // the table is at most half full
+    private int[] cells = new int[16];
+    private Object[] values = new Object[16];
+    private int shift = 32 - 4;
+    private int size;
+
+    SpaceTable() {
+        Arrays.fill(cells, FREE);
+    }
+
+    /**
+     * Returns the space of the given cell, or null if there is no space for this
+     * cell in the table (anymore).
+     *
+     * @param cell the cell number
+     * @return the space of the cell, or null
+     */
+    Space get(int cell) {
+        expunge();
+        int i = find(cell);
+        return i < 0 ? null : space(values[i]);
+    }
+
+    /**
+     * Puts the space of the given cell into the table, or updates how the space
+     * is referenced (strongly if it is retained, weakly otherwise). If the table
+     * holds another space for this cell already, the table is not changed.
+     *
+     * @param cell the cell number of the space
+     * @param space the space
+     */
+    void put(int cell, Space space) {
+        expunge();
+        boolean retained = space.isRetained();
+        int i = find(cell);
+        if (i < 0) {
+            if (2 * (size + 1) > cells.length) {
+                grow();
+            }
+            i = slot(cell);
+            while (cells[i] != FREE) {
+                i = (i + 1) & (cells.length - 1);
+            }
+            cells[i] = cell;
+            size++;
+        } else {
+            Space current = space(values[i]);
+            if (current != null && current != space) {
+                // a space which was created outside of the board
+                return;
+            } else if (current == space && retained == (values[i] == space)) {
+                return;
+            }
+        }
+        values[i] = retained ? space : new SpaceReference(space, cell, queue);
+    }
+
+    /**
+     * Returns the number of spaces in the table.
+     *
+     * @return the number of spaces
+     */
+    int size() {
+        expunge();
+        return size;
+    }
+
+    private static Space space(Object value) {
+        return value instanceof SpaceReference ? ((SpaceReference) value).get() : (Space) value;
+    }
+
+    private int slot(int cell) {
+        return cell * 0x9E3779B9 >>> shift;
+    }
+
+    private int find(int cell) {
+        int i = slot(cell);
+        while (cells[i] != FREE) {
+            if (cells[i] == cell) {
+                return i;
+            }
+            i = (i + 1) & (cells.length - 1);
+        }
+        return -1;
+    }
+
+    private void expunge() {
+        SpaceReference reference;
+        while ((reference = (SpaceReference) queue.poll()) != null) {
+            int i = find(reference.cell);
+            if (i >= 0 && values[i] == reference) {
+                remove(i);
+            }
+        }
+    }
+
+    private void remove(int i) {
+        int mask = cells.length - 1;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (cells[j] == FREE) {
+                break;
+            }
+            // the entry at j moves to the gap at i, unless its slot lies
+            // cyclically in (i, j], so that it would not be found anymore
+            int home = slot(cells[j]);
+            boolean stays = i <= j ? i < home && home <= j : i < home || home <= j;
+            if (!stays) {
+                cells[i] = cells[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        cells[i] = FREE;
+        values[i] = null;
+        size--;
+    }
+
+    private void grow() {
+        int[] oldCells = cells;
+        Object[] oldValues = values;
+        cells = new int[2 * oldCells.length];
+        values = new Object[cells.length];
+        shift--;
+        Arrays.fill(cells, FREE);
+        size = 0;
+        for (int i = 0; i < oldCells.length; i++) {
+            if (oldCells[i] != FREE && space(oldValues[i]) != null) {
+                int j = slot(oldCells[i]);
+                while (cells[j] != FREE) {
+                    j = (j + 1) & (cells.length - 1);
+                }
+                cells[j] = oldCells[i];
+                values[j] = oldValues[i];
+                size++;
+            }
+        }
+    }
+}
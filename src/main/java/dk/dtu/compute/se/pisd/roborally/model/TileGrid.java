@@ -0,0 +1,178 @@
+
+/*
+ *  This file is part of the initial project provided for the
+ *  course "Project in Software Development (02362)" held at
+ *  DTU Compute at the Technical University of Denmark.
+ *
+ *  Copyright (C) 2019, 2020: Ekkart Kindler, ekki@dtu.dk
+ *
+ *  This software is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; version 2 of the License.
+ *
+ *  This project is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this project; if not, write to the Free Software
+ *  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package dk.dtu.compute.se.pisd.roborally.model;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The tiles of a board, packed into one {@code short} per cell: the type of the
+ * tile (5 bits), its heading (2 bits) and the index of a checkpoint (9 bits).
+ * The cells are numbered row by row ({@code y * width + x}). This way, the game
+ * logic can look at the tiles without creating a {@link Space} object for every
+ * cell of the board. The tiles are stored either densely, in one array for all
+ * cells (see {@link #dense(int, int)}), so that a board with 100000 cells takes
+ * 200 KB only, or sparsely, in chunks which are allocated only where there are
+ * tiles other than normal spaces (see {@link #sparse(int, int)}).
+ *
+ * @author Ekkart Kindler, ekki@dtu.dk
+ */
+public abstract class TileGrid {
+
+    private static final ActionField[] TYPES = ActionField.values();
+    private static final Heading[] HEADINGS = Heading.values();
+
+    private static final int TYPE_BITS = 5;
+    private static final int HEADING_BITS = 2;
+    private static final int TYPE_MASK = (1 << TYPE_BITS) - 1;
+    private static final int HEADING_MASK = (1 << HEADING_BITS) - 1;
+
+    /**
+     * The largest index of a checkpoint which can be stored in a tile.
+     */
+    public static final int MAX_INDEX = (1 << (16 - TYPE_BITS - HEADING_BITS)) - 1;
+
+    /**
+     * The tile of a normal space heading north, which all cells of a new grid have.
+     */
+    static final short NORMAL_TILE = tile(ActionField.NORMAL, Heading.NORTH, 0);
+
+    public final int width;
+    public final int height;
+
+    TileGrid(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("The size of a board must be positive.");
+        }
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Creates a grid of the given size, which stores the tiles of all cells in
+     * one array; all tiles are normal spaces initially.
+     *
+     * @param width the width of the grid
+     * @param height the height of the grid
+     * @return the new grid
+     */
+    public static TileGrid dense(int width, int height) {
+        return new DenseTileGrid(width, height);
+    }
+
+    /**
+     * Creates a grid of the given size, which stores only the tiles other than
+     * normal spaces, in chunks of {@value ChunkedTileGrid#CHUNK_SIZE} x
+     * {@value ChunkedTileGrid#CHUNK_SIZE} cells; all tiles are normal spaces
+     * initially. The memory needed by this grid is proportional to the number of
+     * chunks with other tiles, not to the size of the board.
+     *
+     * @param width the width of the grid
+     * @param height the height of the grid
+     * @return the new grid
+     */
+    public static TileGrid sparse(int width, int height) {
+        return new ChunkedTileGrid(width, height);
+    }
+
+    /**
+     * Returns whether the tiles are stored sparsely (see {@link #sparse(int, int)}).
+     *
+     * @return true if the grid is sparse, false if it is dense
+     */
+    public abstract boolean isSparse();
+
+    /**
+     * Returns the numbers of the cells whose tiles are not normal spaces, in
+     * ascending order.
+     *
+     * @return the cell numbers of the special tiles
+     */
+    public abstract int[] getSpecialCells();
+
+    abstract short getTile(int cell);
+
+    abstract void setTile(int cell, short tile);
+
+    /**
+     * Packs the given type, heading and checkpoint index into a tile.
+     *
+     * @param type the type of the tile
+     * @param heading the heading of the tile
+     * @param index the index of the checkpoint (0 for other tiles)
+     * @return the packed tile
+     */
+    static short tile(@NotNull ActionField type, @NotNull Heading heading, int index) {
+        if (index < 0 || index > MAX_INDEX) {
+            throw new IllegalArgumentException("The index of a checkpoint must be between 0 and " + MAX_INDEX + ".");
+        }
+        return (short) (type.ordinal() | heading.ordinal() << TYPE_BITS | index << (TYPE_BITS + HEADING_BITS));
+    }
+
+    /**
+     * Returns the cell number of the given coordinates.
+     *
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return the cell number
+     */
+    public int cell(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            throw new IllegalArgumentException("Coordinates are out of board bounds.");
+        }
+        return y * width + x;
+    }
+
+    public ActionField getType(int cell) {
+        return TYPES[getTile(cell) & TYPE_MASK];
+    }
+
+    public Heading getHeading(int cell) {
+        return HEADINGS[(getTile(cell) >> TYPE_BITS) & HEADING_MASK];
+    }
+
+    public int getIndex(int cell) {
+        return (getTile(cell) & 0xFFFF) >>> (TYPE_BITS + HEADING_BITS);
+    }
+
+    /**
+     * Sets the tile of the given cell.
+     *
+     * @param cell the cell number
+     * @param type the type of the tile
+     * @param heading the heading of the tile
+     * @param index the index of the checkpoint (0 for other tiles)
+     */
+    public void set(int cell, @NotNull ActionField type, @NotNull Heading heading, int index) {
+        setTile(cell, tile(type, heading, index));
+    }
+
+    /**
+     * Sets the type of the tile of the given cell, keeping its heading and index.
+     *
+     * @param cell the cell number
+     * @param type the new type of the tile
+     */
+    public void setType(int cell, @NotNull ActionField type) {
+        setTile(cell, (short) ((getTile(cell) & ~TYPE_MASK) | type.ordinal()));
+    }
+}
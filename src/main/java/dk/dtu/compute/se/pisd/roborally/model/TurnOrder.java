@@ -0,0 +1,188 @@
+
+/*
+ *  This file is part of the initial project provided for the
+ *  course "Project in Software Development (02362)" held at
+ *  DTU Compute at the Technical University of Denmark.
+ *
+ *  Copyright (C) 2019, 2020: Ekkart Kindler, ekki@dtu.dk
+ *
+ *  This software is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; version 2 of the License.
+ *
+ *  This project is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this project; if not, write to the Free Software
+ *  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package dk.dtu.compute.se.pisd.roborally.model;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The order of the turns of the players as determined by the priority antenna:
+ * the robot which is closest to the antenna goes first. As in the rulebook, the
+ * distance is the Manhattan distance (the number of spaces counted along the rows
+ * and columns of the board). Robots at the same distance are ordered by a ray from
+ * the antenna, which starts in the heading of the antenna and turns clockwise: the
+ * robot which the ray passes first goes first.
+ * Both are combined into one priority per space; for a dense board, the priorities
+ * of all spaces are computed once into a table. The players are kept sorted by the
+ * priorities of their spaces, and the board updates the order only when a robot
+ * moves (see {@link #moved(Player)}), so that looking up the player of a turn
+ * takes constant time and does not allocate any objects.
+ *
+ * @author Ekkart Kindler, ekki@dtu.dk
+ */
+public final class TurnOrder {
+
+    public final int antennaX;
+
+    public final int antennaY;
+
+    /**
+     * The heading of the antenna, in which the tie-break ray starts.
+     */
+    public final Heading heading;
+
+    private final int width;
+
+    /**
+     * The priorities of all cells ({@code y * width + x}) of a dense board;
+     * null for a sparse board, whose priorities are computed when needed.
+     */
+    private final long[] priorities;
+
+    private final Player[] order;
+
+    private final long[] keys;
+
+    private int size;
+
+    /**
+     * Creates the turn order of the players of the given board for the antenna at
+     * the given coordinates; the heading of the antenna is the heading of its space.
+     *
+     * @param board the board
+     * @param x the x coordinate of the antenna
+     * @param y the y coordinate of the antenna
+     * @param capacity the maximum number of players
+     */
+    TurnOrder(@NotNull Board board, int x, int y, int capacity) {
+        TileGrid tiles = board.getTiles();
+        antennaX = x;
+        antennaY = y;
+        heading = tiles.getHeading(tiles.cell(x, y));
+        width = board.width;
+        if (tiles.isSparse()) {
+            priorities = null;
+        } else {
+            priorities = new long[board.width * board.height];
+            for (int cellY = 0; cellY < board.height; cellY++) {
+                for (int cellX = 0; cellX < board.width; cellX++) {
+                    priorities[cellY * width + cellX] = computePriority(cellX, cellY);
+                }
+            }
+        }
+        order = new Player[capacity];
+        keys = new long[capacity];
+        for (int i = 0; i < board.getPlayerAmount(); i++) {
+            moved(board.getPlayer(i));
+        }
+    }
+
+    /**
+     * Returns the priority of the space at the given coordinates; the players on
+     * spaces with a lower priority go first.
+     *
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return the priority of the space
+     */
+    public long getPriority(int x, int y) {
+        return priorities != null ? priorities[y * width + x] : computePriority(x, y);
+    }
+
+    private long computePriority(int x, int y) {
+        int dx = x - antennaX;
+        int dy = y - antennaY;
+        int distance = Math.abs(dx) + Math.abs(dy);
+        // the coordinates seen from the antenna: u to its right, v to its front
+        Heading right = heading.next();
+        int u = dx * right.dx() + dy * right.dy();
+        int v = dx * heading.dx() + dy * heading.dy();
+        // the position on the ring of the spaces at this distance, clockwise
+        // from the front of the antenna
+        int rank;
+        if (u >= 0 && v > 0) {
+            rank = u;
+        } else if (u > 0) {
+            rank = distance - v;
+        } else if (v < 0) {
+            rank = 2 * distance - u;
+        } else if (u < 0) {
+            rank = 3 * distance + v;
+        } else {
+            rank = 0;
+        }
+        return (long) distance << 32 | rank;
+    }
+
+    /**
+     * Updates the order after the robot of the given player moved (or the player
+     * was added to the board). Players without a robot on the board go last.
+     *
+     * @param player the player whose robot moved
+     */
+    void moved(@NotNull Player player) {
+        int i = 0;
+        while (i < size && order[i] != player) {
+            i++;
+        }
+        if (i == size) {
+            if (size == order.length) {
+                return;
+            }
+            size++;
+        }
+        Space space = player.getSpace();
+        long key = space != null ? getPriority(space.x, space.y) : Long.MAX_VALUE;
+        // move the player towards its place in the order
+        while (i > 0 && keys[i - 1] > key) {
+            order[i] = order[i - 1];
+            keys[i] = keys[i - 1];
+            i--;
+        }
+        while (i < size - 1 && keys[i + 1] < key) {
+            order[i] = order[i + 1];
+            keys[i] = keys[i + 1];
+            i++;
+        }
+        order[i] = player;
+        keys[i] = key;
+    }
+
+    /**
+     * Returns the number of players in the turn order.
+     *
+     * @return the number of players
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the player of the given turn, where the player of turn 0 goes first.
+     *
+     * @param turn the number of the turn
+     * @return the player of the turn
+     */
+    public Player getPlayer(int turn) {
+        return order[turn];
+    }
+}
@@ -0,0 +1,151 @@
+
+/*
+ *  This file is part of the initial project provided for the
+ *  course "Project in Software Development (02362)" held at
+ *  DTU Compute at the Technical University of Denmark.
+ *
+ *  Copyright (C) 2019, 2020: Ekkart Kindler, ekki@dtu.dk
+ *
+ *  This software is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; version 2 of the License.
+ *
+ *  This project is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this project; if not, write to the Free Software
+ *  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package dk.dtu.compute.se.pisd.roborally.view;
+
+import dk.dtu.compute.se.pisd.designpatterns.observer.Subject;
+import dk.dtu.compute.se.pisd.roborally.controller.GameController;
+import dk.dtu.compute.se.pisd.roborally.model.*;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Renders the spaces and robots of the board on a single {@link Canvas}, as an
+ * alternative to the grid of {@link SpaceView}s, which needs a handful of scene
+ * graph nodes for every tile. The canvas observes all spaces of the board and
+ * repaints only the cell of a space which changed; when the phase of the game
+ * changes, only the board lasers (which are shown differently in the different
+ * phases) are repainted.
+ * @author Ekkart Kindler, ekki@dtu.dk
+ */
+public class BoardCanvas extends Canvas implements ViewObserver {
+
+    private static final Font NAME_FONT = Font.font("poppins", FontWeight.BOLD, 9);
+
+    private final Board board;
+
+    private final GameController gameController;
+
+    private Phase phase;
+
+    /**
+     * Constructs a canvas showing the board of the given game controller.
+     * @param gameController The GameController associated with this view.
+     */
+    public BoardCanvas(@NotNull GameController gameController) {
+        super(gameController.board.width * SpaceView.SPACE_WIDTH,
+                gameController.board.height * SpaceView.SPACE_HEIGHT);
+        this.gameController = gameController;
+        this.board = gameController.board;
+        this.phase = board.getPhase();
+
+        for (int x = 0; x < board.width; x++) {
+            for (int y = 0; y < board.height; y++) {
+                Space space = board.getSpace(x, y);
+                drawSpace(space);
+                space.attach(this);
+            }
+        }
+        this.setOnMouseClicked(this::handleClick);
+
+        board.attach(this);
+    }
+
+    /**
+     * Repaints the cell of a space which changed. When the phase of the board
+     * changed, the board lasers are repainted.
+     * @param subject The subject which changed.
+     */
+    @Override
+    public void updateView(Subject subject) {
+        if (subject instanceof Space space) {
+            if (space.board == board) {
+                drawSpace(space);
+            }
+        } else if (subject == board && board.getPhase() != phase) {
+            phase = board.getPhase();
+            for (int x = 0; x < board.width; x++) {
+                for (int y = 0; y < board.height; y++) {
+                    Space space = board.getSpace(x, y);
+                    if (SpaceView.isLaser(space.getType())) {
+                        drawSpace(space);
+                    }
+                }
+            }
+        }
+    }
+
+    private void drawSpace(@NotNull Space space) {
+        GraphicsContext gc = getGraphicsContext2D();
+        double left = space.x * SpaceView.SPACE_WIDTH;
+        double top = space.y * SpaceView.SPACE_HEIGHT;
+
+        gc.clearRect(left, top, SpaceView.SPACE_WIDTH, SpaceView.SPACE_HEIGHT);
+        Image tile = SpaceView.tileImage(SpaceView.tileImageResource(space, board.getPhase()));
+        drawRotated(gc, tile, SpaceView.rotation(space.getHeading()),
+                left, top, SpaceView.SPACE_WIDTH, SpaceView.SPACE_HEIGHT);
+
+        Player player = space.getPlayer();
+        if (player != null) {
+            Image robot = ImageCache.get("/robot-" + player.getColor().toLowerCase() + ".png",
+                    SpaceView.ROBOT_SIZE, SpaceView.ROBOT_SIZE);
+            double offset = (SpaceView.SPACE_WIDTH - SpaceView.ROBOT_SIZE) / 2.0;
+            drawRotated(gc, robot, SpaceView.rotation(player.getHeading()),
+                    left + offset, top + offset + 4, SpaceView.ROBOT_SIZE, SpaceView.ROBOT_SIZE);
+
+            gc.setFill(Color.BLACK);
+            gc.setFont(NAME_FONT);
+            gc.setTextAlign(TextAlignment.CENTER);
+            gc.setTextBaseline(VPos.TOP);
+            gc.fillText(player.getName().toUpperCase(), left + SpaceView.SPACE_WIDTH / 2.0, top + 1);
+        }
+    }
+
+    private void drawRotated(GraphicsContext gc, Image image, int rotation,
+                             double left, double top, double width, double height) {
+        gc.save();
+        gc.translate(left + width / 2, top + height / 2);
+        gc.rotate(rotation);
+        gc.drawImage(image, -width / 2, -height / 2, width, height);
+        gc.restore();
+    }
+
+    // XXX as the SpaceEventHandler of the BoardView, this handler is just to help testing
+    //     the game by being able to explicitly move the players on the board!
+    private void handleClick(MouseEvent event) {
+        int x = (int) (event.getX() / SpaceView.SPACE_WIDTH);
+        int y = (int) (event.getY() / SpaceView.SPACE_HEIGHT);
+        if (x >= 0 && x < board.width && y >= 0 && y < board.height && board == gameController.board) {
+            gameController.moveCurrentPlayerToSpace(board.getSpace(x, y));
+            event.consume();
+        }
+    }
+
+}
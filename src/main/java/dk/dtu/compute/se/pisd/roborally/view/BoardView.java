@@ -22,6 +22,7 @@
  */
 package dk.dtu.compute.se.pisd.roborally.view;
 
+import dk.dtu.compute.se.pisd.designpatterns.observer.Change;
 import dk.dtu.compute.se.pisd.designpatterns.observer.Subject;
 import dk.dtu.compute.se.pisd.roborally.controller.GameController;
 
@@ -33,6 +34,7 @@ import dk.dtu.compute.se.pisd.roborally.model.*;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.GridPane;
@@ -50,8 +52,17 @@ import java.util.*;
  * @author Ekkart Kindler, ekki@dtu.dk
  */
 public class BoardView extends VBox implements ViewObserver {
+
+    /**
+     * The ways the spaces and robots of the board can be rendered: either with
+     * a {@link SpaceView} node for every space, or on a single {@link BoardCanvas}.
+     */
+    public enum Renderer {
+        NODES, CANVAS
+    }
+
     private Board board;
-    private GridPane mainBoardPane;
+    private Node mainBoardPane;
     private SpaceView[][] spaces;
     private PlayersView playersView;
     private Label statusLabel;
@@ -61,6 +72,10 @@ public class BoardView extends VBox implements ViewObserver {
     private VBox checkPointStatusBox = new VBox();
     private ArrayList<Player> players = new ArrayList<>();
     private ArrayList<Label> playerLabels = new ArrayList<>();
+    private ArrayList<Player> labelPlayers = new ArrayList<>();
+    private ArrayList<Integer> shownProgress = new ArrayList<>();
+    private ArrayList<SpaceView> laserViews = new ArrayList<>();
+    private Phase shownPhase;
 
     private int max = 0;
 
@@ -72,29 +87,46 @@ public class BoardView extends VBox implements ViewObserver {
      * access to the game logic and state.
      */
     public BoardView(@NotNull GameController gameController) {
+        this(gameController, Renderer.NODES);
+    }
+
+    /**
+     * Constructs a BoardView associated with a given game controller, which renders
+     * the spaces of the board with the given renderer.
+     * @param gameController The GameController associated with this board view, providing
+     * access to the game logic and state.
+     * @param renderer The renderer used for the spaces and robots of the board.
+     */
+    public BoardView(@NotNull GameController gameController, @NotNull Renderer renderer) {
         board = gameController.board;
-        mainBoardPane = new GridPane();
         playersView = new PlayersView(gameController);
         statusLabel = new Label("<no status>");
         shop = new Shop(gameController);
-        spaces = new SpaceView[board.width][board.height];
-        spaceEventHandler = new SpaceEventHandler(gameController);
         players = board.getPlayers();
 
-        for (int x = 0; x < board.width; x++) {
-            for (int y = 0; y < board.height; y++) {
-                Space space = board.getSpace(x, y);
-                SpaceView spaceView = new SpaceView(space,board);
-                spaces[x][y] = spaceView;
-                mainBoardPane.add(spaceView, x, y);
-                spaceView.setOnMouseClicked(spaceEventHandler);
+        if (renderer == Renderer.CANVAS) {
+            mainBoardPane = new BoardCanvas(gameController);
+        } else {
+            GridPane spacesPane = new GridPane();
+            spaces = new SpaceView[board.width][board.height];
+            spaceEventHandler = new SpaceEventHandler(gameController);
+            for (int x = 0; x < board.width; x++) {
+                for (int y = 0; y < board.height; y++) {
+                    Space space = board.getSpace(x, y);
+                    SpaceView spaceView = new SpaceView(space,board);
+                    spaces[x][y] = spaceView;
+                    if (SpaceView.isLaser(space.getType())) {
+                        laserViews.add(spaceView);
+                    }
+                    spacesPane.add(spaceView, x, y);
+                    spaceView.setOnMouseClicked(spaceEventHandler);
+                }
             }
+            mainBoardPane = spacesPane;
         }
 
         // Calculate the maximum number of checkpoints
-        max = (int) board.getSpacesList().stream()
-                .filter(s -> s.getType() == ActionField.CHECKPOINT)
-                .count();
+        max = board.getElementCount(ActionField.CHECKPOINT);
 
         Label checkPointTitle = new Label("Check Point Status");
         checkPointTitle.setId("checkPointTitle");
@@ -104,11 +136,11 @@ public class BoardView extends VBox implements ViewObserver {
         ListIterator<Player> playersIterator = players.listIterator(players.size());
         while(playersIterator.hasPrevious()) {
             Player player = playersIterator.previous();
-            // Ensure there's no division by zero
-            String progress = max > 0 ? player.getIndex() + "/" + max : "N/A";
-            Label playerStatus = new Label(player.getName() + ":\t" + progress);
+            Label playerStatus = new Label(checkPointProgress(player));
             playerStatus.setId("checkPointPlayer");
             playerLabels.add(playerStatus);
+            labelPlayers.add(player);
+            shownProgress.add(player.getIndex());
             checkPointStatusBox.getChildren().add(playerStatus);
         }
 
@@ -119,43 +151,78 @@ public class BoardView extends VBox implements ViewObserver {
     }
 
     /**
-     * Updates the view based on changes to the observed board object. This includes
-     * updating the display of each space to reflect any new state, such as the presence
-     * of players or the result of game actions.
+     * Updates the view based on changes to the observed board object. Only the parts
+     * of the view which depend on the changed state of the board are touched: the
+     * status label, the containers shown in the current phase, the board lasers
+     * (which are shown differently in the different phases) and the checkpoint
+     * progress of the players. The other spaces are updated by their own views,
+     * which observe the spaces.
      * @param subject The subject (board) being observed for changes.
      */
     @Override
     public void updateView(Subject subject) {
         if (subject == board) {
-            this.getChildren().clear();
             Phase phase = board.getPhase();
-
-            for (int x = 0; x < board.width; x++) {
-                for(int y = 0; y < board.height; y++) {
-                    SpaceView s = spaces[x][y];
-                    Space s1 = board.getSpace(x, y);
-                    s.updateView(s1);
+            if (phase != shownPhase) {
+                boolean initialisation = phase == Phase.INITIALISATION;
+                if (shownPhase == null || initialisation != (shownPhase == Phase.INITIALISATION)) {
+                    if (initialisation) {
+                        this.getChildren().setAll(shop, playersView, statusLabel);
+                    } else {
+                        this.getChildren().setAll(hBox, playersView, statusLabel);
+                    }
                 }
+                for (SpaceView laserView : laserViews) {
+                    laserView.updateView(laserView.space);
+                }
+                shownPhase = phase;
             }
 
-            statusLabel.setText(board.getStatusMessage());
-            if(phase == Phase.INITIALISATION){
-                this.getChildren().addAll(shop,playersView,statusLabel);
-            } else{
-                this.getChildren().addAll(hBox,playersView,statusLabel);
+            String status = board.getStatusMessage();
+            if (!status.equals(statusLabel.getText())) {
+                statusLabel.setText(status);
             }
-            try {
-                ListIterator<Player> playersIterator = players.listIterator(players.size());
-                Player player = playersIterator.previous();
-                for (Label playerLabel : playerLabels) {
-                    playerLabel.setText(player.getName() + ":\t" + player.getIndex() + "/" + max);
-                    player = playersIterator.previous();
+
+            for (int i = 0; i < playerLabels.size(); i++) {
+                Player player = labelPlayers.get(i);
+                if (player.getIndex() != shownProgress.get(i)) {
+                    shownProgress.set(i, player.getIndex());
+                    playerLabels.get(i).setText(checkPointProgress(player));
                 }
-            } catch (Exception e) {
             }
         }
     }
 
+    /**
+     * Shows in the status line that the laser of a robot hit another robot. The
+     * message is replaced by the status of the board with the next update of the board.
+     * @param shooter the player whose robot fired the laser
+     * @param target the player whose robot was hit
+     */
+    public void showRobotHit(@NotNull Player shooter, @NotNull Player target) {
+        statusLabel.setText(shooter.getName() + " hit " + target.getName() + " with the robot laser");
+    }
+
+    /**
+     * Updates the view for a described change of the board. Changes of the step mode
+     * and of the players of the board are not shown by this view, so that these changes
+     * do not need any update at all.
+     * @param subject The subject (board) being observed for changes.
+     * @param change The descriptor of the change.
+     */
+    @Override
+    public void updateView(Subject subject, Change change) {
+        if (change != GameChange.STEP_MODE && change != GameChange.PLAYERS) {
+            updateView(subject);
+        }
+    }
+
+    private String checkPointProgress(Player player) {
+        // Ensure there's no division by zero
+        String progress = max > 0 ? player.getIndex() + "/" + max : "N/A";
+        return player.getName() + ":\t" + progress;
+    }
+
     // XXX this handler and its uses should eventually be deleted! This is just to help test the
     //     behaviour of the game by being able to explicitly move the players on the board!
     private class SpaceEventHandler implements EventHandler<MouseEvent> {
@@ -57,6 +57,12 @@ public class CardFieldView extends GridPane implements ViewObserver {
     final public static int CARDFIELD_WIDTH = 60;
     final public static int CARDFIELD_HEIGHT = 70;
 
+    final static int CARD_IMAGE_WIDTH = 45;
+    final static int CARD_IMAGE_HEIGHT = 60;
+
+    // the images of the cards, indexed by the handles of the cards (only used on the JavaFX thread)
+    final private static Image[] CARD_IMAGES = new Image[CommandCard.HANDLES];
+
     final public static Border BORDER = new Border(new BorderStroke(Color.BLACK, BorderStrokeStyle.SOLID, null, new BorderWidths(2)));
 
     final public static Background BG_DEFAULT = new Background(new BackgroundFill(Color.DARKGRAY, null, null));
@@ -92,9 +98,9 @@ public class CardFieldView extends GridPane implements ViewObserver {
         this.field = field;
 
         field.getCard().ifPresent(card -> {
-            imageView = card.getCardImage();
-            imageView.setFitWidth(45);
-            imageView.setFitHeight(60);
+            imageView = new ImageView(cardImage(card));
+            imageView.setFitWidth(CARD_IMAGE_WIDTH);
+            imageView.setFitHeight(CARD_IMAGE_HEIGHT);
             imageView.setPreserveRatio(true);
             this.add(imageView, 0, 0);
         });
@@ -134,6 +140,23 @@ public class CardFieldView extends GridPane implements ViewObserver {
 
 
 
+    /**
+     * Returns the image showing the given card. The cards of the model do not hold
+     * any images themselves, so that the game engine can run without JavaFX; the
+     * image is shared between all views showing this kind of card (see {@link ImageCache}),
+     * and looked up by the handle of the card once it was loaded.
+     * @param card the card for which the image is returned
+     * @return the image of the card
+     */
+    private static Image cardImage(@NotNull CommandCard card) {
+        Image image = CARD_IMAGES[card.handle];
+        if (image == null) {
+            image = ImageCache.get("/" + card.getName() + ".png", CARD_IMAGE_WIDTH, CARD_IMAGE_HEIGHT, true);
+            CARD_IMAGES[card.handle] = image;
+        }
+        return image;
+    }
+
     private String cardFieldRepresentation(CommandCardField cardField) {
         if (cardField.player != null) {
 
@@ -217,9 +240,9 @@ public class CardFieldView extends GridPane implements ViewObserver {
             field.getCard().ifPresentOrElse(card -> {
                 if (field.isVisible()) {
                     // If the field has a card, set the ImageView to display the card image
-                    imageView = card.getCardImage();
-                    imageView.setFitWidth(45);
-                    imageView.setFitHeight(60);
+                    imageView = new ImageView(cardImage(card));
+                    imageView.setFitWidth(CARD_IMAGE_WIDTH);
+                    imageView.setFitHeight(CARD_IMAGE_HEIGHT);
                     imageView.setPreserveRatio(true);
 
                     Tooltip tooltip = new Tooltip(card.getDescription()); // Assuming getDescription() gives the text you need
@@ -0,0 +1,99 @@
+
+/*
+ *  This file is part of the initial project provided for the
+ *  course "Project in Software Development (02362)" held at
+ *  DTU Compute at the Technical University of Denmark.
+ *
+ *  Copyright (C) 2019, 2020: Ekkart Kindler, ekki@dtu.dk
+ *
+ *  This software is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; version 2 of the License.
+ *
+ *  This project is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this project; if not, write to the Free Software
+ *  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package dk.dtu.compute.se.pisd.roborally.view;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A cache for the images of the tiles, robots and cards shown by the views. Each
+ * image resource is decoded only once for every size it is displayed in, and
+ * already at that size, so that the views share the same (small) {@link Image}
+ * instead of decoding the full size PNG file again on every update. If an image
+ * resource is missing or cannot be read, this is logged, and an empty (transparent)
+ * placeholder of the requested size is shown instead.
+ *
+ * @author Ekkart Kindler, ekki@dtu.dk
+ */
+public final class ImageCache {
+
+    private record Key(String resource, double width, double height, boolean preserveRatio) {}
+
+    private static final Logger LOGGER = Logger.getLogger(ImageCache.class.getName());
+
+    private static final Map<Key, Image> images = new ConcurrentHashMap<>();
+
+    private ImageCache() {
+    }
+
+    /**
+     * Returns the image of the given resource, scaled to exactly the given size.
+     *
+     * @param resource the name of the image resource, e.g. "/NORMAL.png"
+     * @param width the width the image is displayed with
+     * @param height the height the image is displayed with
+     * @return the shared image, or a placeholder if there is no such resource
+     */
+    public static Image get(@NotNull String resource, double width, double height) {
+        return get(resource, width, height, false);
+    }
+
+    /**
+     * Returns the image of the given resource, scaled to fit into the given size.
+     *
+     * @param resource the name of the image resource, e.g. "/Fwd.png"
+     * @param width the width of the bounding box the image is displayed in
+     * @param height the height of the bounding box the image is displayed in
+     * @param preserveRatio whether the aspect ratio of the original image is kept
+     * @return the shared image, or a placeholder if there is no such resource
+     */
+    public static Image get(@NotNull String resource, double width, double height, boolean preserveRatio) {
+        return images.computeIfAbsent(new Key(resource, width, height, preserveRatio), ImageCache::load);
+    }
+
+    private static Image load(Key key) {
+        try (InputStream stream = ImageCache.class.getResourceAsStream(key.resource())) {
+            if (stream == null) {
+                LOGGER.log(Level.WARNING, "Image file not found: {0}", key.resource());
+                return placeholder(key);
+            }
+            return new Image(stream, key.width(), key.height(), key.preserveRatio(), true);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Image file could not be read: " + key.resource(), e);
+            return placeholder(key);
+        }
+    }
+
+    private static Image placeholder(Key key) {
+        return new WritableImage(Math.max(1, (int) Math.ceil(key.width())), Math.max(1, (int) Math.ceil(key.height())));
+    }
+
+}
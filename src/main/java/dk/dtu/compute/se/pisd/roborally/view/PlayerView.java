@@ -21,6 +21,7 @@
  */
 package dk.dtu.compute.se.pisd.roborally.view;
 
+import dk.dtu.compute.se.pisd.designpatterns.observer.Change;
 import dk.dtu.compute.se.pisd.designpatterns.observer.Subject;
 import dk.dtu.compute.se.pisd.roborally.controller.GameController;
 import dk.dtu.compute.se.pisd.roborally.model.*;
@@ -46,6 +47,24 @@ import org.jetbrains.annotations.NotNull;
  */
 public class PlayerView extends Tab implements ViewObserver {
 
+    final static int ENERGY_CUBE_SIZE = 27;
+
+    /**
+     * The radial gradient giving the energy cubes their shine; it is immutable,
+     * and is therefore shared by all energy cubes.
+     */
+    final private static RadialGradient ENERGY_CUBE_FILL = new RadialGradient(
+            0,
+            0,
+            0.5,
+            0.5,
+            0.5,
+            true,
+            CycleMethod.NO_CYCLE,
+            new Stop(0, Color.WHITE),
+            new Stop(1, Color.GREEN)
+    );
+
     private Player player;
 
     private VBox top;
@@ -173,27 +192,7 @@ public class PlayerView extends Tab implements ViewObserver {
         energyCubes = new GridPane();
         energyCubes.setPadding(new Insets(4.0, 4.0, 4.0, 4.0));
         energyCubes.setHgap(2.0);
-
-
-        for (int i = 0; i < player.getEnergy(); i++) {
-            Rectangle rectangle = new Rectangle(27, 27); // Set width and height to 200
-
-            // Create a radial gradient for the shine effect
-            RadialGradient gradient = new RadialGradient(
-                    0,
-                    0,
-                    0.5,
-                    0.5,
-                    0.5,
-                    true,
-                    CycleMethod.NO_CYCLE,
-                    new Stop(0, Color.WHITE),
-                    new Stop(1, Color.GREEN)
-            );
-            rectangle.setFill(gradient);
-
-            energyCubes.add(rectangle,i,0);
-        }
+        updateEnergyCubes();
 
         progInvLabelAndCards = new VBox(cardsLabel,cardsPane);
         progLabelAndCards = new VBox(programLabel
@@ -202,8 +201,6 @@ public class PlayerView extends Tab implements ViewObserver {
         programCards = new HBox(30,progInvLabelAndCards,progLabelAndCards);
 
 
-        // Set the fill of the rectangle to the gradient
-
         top.getChildren().add(energyCubes);
         top.getChildren().add(playerInteractionPanel);
         top.getChildren().add(currentUpgrades);
@@ -298,27 +295,44 @@ public class PlayerView extends Tab implements ViewObserver {
                 handlePlayerInteraction();
             }
         } else{
-            energyCubes.getChildren().clear();
-            for (int i = 0; i < player.getEnergy(); i++) {
-                Rectangle rectangle = new Rectangle(27, 27); // Set width and height to 200
-
-                // Create a radial gradient for the shine effect
-                RadialGradient gradient = new RadialGradient(
-                        0,
-                        0,
-                        0.5,
-                        0.5,
-                        0.5,
-                        true,
-                        CycleMethod.NO_CYCLE,
-                        new Stop(0, Color.WHITE),
-                        new Stop(1, Color.GREEN)
-                );
-                rectangle.setFill(gradient);
-
-                energyCubes.add(rectangle,i,0);
+            updateEnergyCubes();
+        }
+    }
+
+    /**
+     * Updates only the parts of the view which are affected by the described change:
+     * a change of the player's energy only adds or removes energy cubes, and changes
+     * of the board which do not concern the registers or buttons are ignored.
+     * @param subject The subject (board or player) whose state has changed.
+     * @param change The descriptor of the change.
+     */
+    @Override
+    public void updateView(Subject subject, Change change) {
+        if (change == Change.ANY) {
+            updateView(subject);
+        } else if (subject == player.board) {
+            if (change == GameChange.PHASE || change == GameChange.STEP) {
+                updateView(subject);
             }
+        } else if (subject == player && change == GameChange.ENERGY) {
+            updateEnergyCubes();
+        }
+    }
 
+    /**
+     * Adjusts the number of energy cubes shown to the player's energy, adding or
+     * removing only the cubes which differ.
+     */
+    private void updateEnergyCubes() {
+        int energy = Math.max(0, player.getEnergy());
+        int shown = energyCubes.getChildren().size();
+        if (shown > energy) {
+            energyCubes.getChildren().remove(energy, shown);
+        }
+        for (int i = shown; i < energy; i++) {
+            Rectangle rectangle = new Rectangle(ENERGY_CUBE_SIZE, ENERGY_CUBE_SIZE);
+            rectangle.setFill(ENERGY_CUBE_FILL);
+            energyCubes.add(rectangle, i, 0);
         }
     }
 
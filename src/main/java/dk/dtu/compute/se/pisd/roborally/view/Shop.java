@@ -15,7 +15,6 @@ import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Objects;
 
 public class Shop extends VBox {
 
@@ -29,7 +28,7 @@ public class Shop extends VBox {
         this.deck.generateUpgradeDeck(gameController);
         //this.deck = deck.generateUpgradeDeck(gameController);
         this.gameController = gameController;
-        image = new Image(Objects.requireNonNull(getClass().getResourceAsStream("/Facedown.png")));
+        image = ImageCache.get("/Facedown.png", 60, 70);
 
 
         /// button to change phase
@@ -81,7 +80,7 @@ public class Shop extends VBox {
             gameController.board.moveCurrentTurn();
         }
 
-        if(gameController.board.getPlayers().indexOf(gameController.board.getCurrentPlayer()) == gameController.board.getPlayerAmount() -1 &&
+        if(gameController.board.getPlayerNumber(gameController.board.getCurrentPlayer()) == gameController.board.getPlayerAmount() -1 &&
                 gameController.board.getCurrentTurn().phase == Phase.PROGRAMMING) {
 
             gameController.startProgrammingPhase();
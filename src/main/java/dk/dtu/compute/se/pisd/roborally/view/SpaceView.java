@@ -21,6 +21,7 @@
  */
 package dk.dtu.compute.se.pisd.roborally.view;
 
+import dk.dtu.compute.se.pisd.designpatterns.observer.Change;
 import dk.dtu.compute.se.pisd.designpatterns.observer.Subject;
 import dk.dtu.compute.se.pisd.roborally.model.*;
 import javafx.geometry.Insets;
@@ -34,9 +35,7 @@ import org.jetbrains.annotations.NotNull;
 import javafx.scene.image.Image;
 
 import java.awt.*;
-import java.io.InputStream;
 
-import java.io.InputStream;
 import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
@@ -54,6 +53,8 @@ public class SpaceView extends StackPane implements ViewObserver {
     final public static int SPACE_HEIGHT = 60; // 60; // 75;
     final public static int SPACE_WIDTH = 60;  // 60; // 75;
 
+    final static int ROBOT_SIZE = 45;
+
     private String altImage;
 
     private boolean changeImage;
@@ -62,6 +63,8 @@ public class SpaceView extends StackPane implements ViewObserver {
 
     public ImageView image;
 
+    private ImageView robotView;
+
     public void setAltImage(String altImage) {
         this.altImage = altImage;
     }
@@ -86,7 +89,7 @@ public class SpaceView extends StackPane implements ViewObserver {
         this.setMinHeight(SPACE_HEIGHT);
         this.setMaxHeight(SPACE_HEIGHT);
 
-        image = new ImageView(this.space.image);
+        image = new ImageView(tileImage(tileImageResource(space, space.getPhase())));
         image.setFitWidth(60); // Set the width to 200 pixels
         image.setFitHeight(60);
         this.getChildren().add(image);
@@ -98,32 +101,87 @@ public class SpaceView extends StackPane implements ViewObserver {
         update(space);
     }
 
+    /**
+     * Returns the name of the image resource showing the tile of the given space.
+     * The model does not hold any images itself, so that the game engine can run
+     * without JavaFX; the views derive the image from the type of the space. The
+     * board lasers are shown switched off during the programming phase and
+     * switched on during the activation phase.
+     * @param space the space for which the image resource is computed
+     * @param phase the current phase of the game
+     * @return the name of the image resource of the space
+     */
+    static String tileImageResource(@NotNull Space space, Phase phase) {
+        ActionField type = space.getType();
+        if (type == ActionField.CHECKPOINT) {
+            return "/" + space.getIndex() + ".png";
+        }
+        if (phase == Phase.PROGRAMMING) {
+            switch (type) {
+                case BOARD_LASER_START: return "/BOARD_LASER_START_OFF.png";
+                case BOARD_LASER: return "/NORMAL.png";
+                case BOARD_LASER_END: return "/WALL.png";
+                default:
+            }
+        }
+        return "/" + type + ".png";
+    }
+
+    /**
+     * Checks whether the image of a tile of the given type depends on the phase
+     * of the game (see {@link #tileImageResource(Space, Phase)}).
+     * @param type the type of the tile
+     * @return true if the tile is a board laser, false otherwise
+     */
+    static boolean isLaser(ActionField type) {
+        return type == ActionField.BOARD_LASER_START ||
+                type == ActionField.BOARD_LASER ||
+                type == ActionField.BOARD_LASER_END;
+    }
+
+    /**
+     * Returns the rotation of the tile image for the given heading of a space
+     * or a robot; the images show the tiles and robots heading north.
+     * @param heading the heading of the space or robot
+     * @return the rotation in degrees
+     */
+    static int rotation(Heading heading) {
+        return switch (heading) {
+            case NORTH -> 0;
+            case EAST -> 90;
+            case SOUTH -> 180;
+            case WEST -> 270;
+        };
+    }
+
+    /**
+     * Returns the shared image of the given tile resource, decoded in the size
+     * of a space (see {@link ImageCache}).
+     * @param resource the name of the image resource
+     * @return the image of the tile
+     */
+    static Image tileImage(@NotNull String resource) {
+        return ImageCache.get(resource, SPACE_WIDTH, SPACE_HEIGHT);
+    }
+
     // Ændring af polygon/trekant figur til en avatar karakter
     private void updatePlayer() {
         this.getChildren().clear();
         Player player = space.getPlayer();
         this.getChildren().add(image);
+        robotView = null;
 
         VBox playerBox = new VBox();
 
         if (player != null) {
             String color = player.getColor().toLowerCase();
             String playerImageFile = "/robot-" + color + ".png";
-            InputStream imageStream = getClass().getResourceAsStream(playerImageFile);
-            if (imageStream == null) {
-                System.out.println("Image file not found: " + playerImageFile);
-                return;
-            }
-            ImageView playerImage = new ImageView(new Image(imageStream));
-            playerImage.setFitWidth(45);
-            playerImage.setFitHeight(45);
+            Image robotImage = ImageCache.get(playerImageFile, ROBOT_SIZE, ROBOT_SIZE);
+            ImageView playerImage = new ImageView(robotImage);
+            playerImage.setFitWidth(ROBOT_SIZE);
+            playerImage.setFitHeight(ROBOT_SIZE);
 
-            playerImage.setRotate(switch (player.getHeading()) {
-                case NORTH -> 0;
-                case EAST -> 90;
-                case SOUTH -> 180;
-                case WEST -> 270;
-            });
+            playerImage.setRotate(rotation(player.getHeading()));
 
             Label playerName = new Label(player.getName().toUpperCase());
             playerName.setId("player-name");
@@ -131,6 +189,7 @@ public class SpaceView extends StackPane implements ViewObserver {
             playerBox.setAlignment(Pos.CENTER);
 
             this.getChildren().add(playerBox);
+            robotView = playerImage;
         }
     }
 
@@ -142,56 +201,34 @@ public class SpaceView extends StackPane implements ViewObserver {
     @Override
     public void updateView(Subject subject) {
         Space s = this.space;
-        Board board = s.getBoard();
         Phase phase = s.getPhase();
 
-        Set<ActionField> invalidValues = new HashSet<>();
-        invalidValues.add(ActionField.WALL);
-        invalidValues.add(ActionField.BOARD_LASER_START);
-        invalidValues.add(ActionField.BOARD_LASER_END);
-        invalidValues.add(ActionField.PRIORITY_ANTENNA);
-
-        Set<ActionField> laserValues = new HashSet<>();
-        laserValues.add(ActionField.BOARD_LASER_START);
-        laserValues.add(ActionField.BOARD_LASER);
-        laserValues.add(ActionField.BOARD_LASER_END);
-
         if (subject == s) {
-            switch (s.getHeading()) {
-                case EAST -> image.setRotate(90);
-                case WEST -> image.setRotate(-90);
-                case SOUTH -> image.setRotate(180);
-            }
-
-            if (laserValues.contains(s.getType())) {
-                String img = "/" + s.getType() + ".png";
-
-                //LASERS OFF
-                if (phase == Phase.PROGRAMMING) {
-                    img = switch (s.getType()) {
-                        case BOARD_LASER_START -> "/" + "BOARD_LASER_START_OFF" + ".png";
-                        case BOARD_LASER -> "/" + "NORMAL" + ".png";
-                        case BOARD_LASER_END -> "/" + "WALL" + ".png";
-                        default -> img;
-                    };
-                }
-                //LASERS ON
-                if (phase == Phase.ACTIVATION) {
-                    img = switch (s.getType()) {
-                        case BOARD_LASER_START -> "/" + "BOARD_LASER_START" + ".png";
-                        case BOARD_LASER -> "/" + "BOARD_LASER" + ".png";
-                        case BOARD_LASER_END -> "/" + "BOARD_LASER_END" + ".png";
-                        default -> img;
-                    };
-                }
-                //img = changeImage ? altImage : img;
-                image.setImage(new Image(getClass().getResourceAsStream(img)));
-                //changeImage = false;
+            image.setRotate(rotation(s.getHeading()));
+            if (isLaser(s.getType()) || s.getType() == ActionField.CHECKPOINT) {
+                image.setImage(tileImage(tileImageResource(s, phase)));
             }
-
-            if (s.getType() == ActionField.CHECKPOINT)
-                image.setImage(new Image(getClass().getResourceAsStream("/" + s.getIndex() + ".png")));
         }
         updatePlayer();
     }
+
+    /**
+     * Responds to a described change of the observed Space model. When only the heading
+     * of the robot on the space changed, the robot image is rotated; the space's tile
+     * is updated only when the type of the space changed. In all other cases, the
+     * robot on the space is shown anew.
+     * @param subject The subject (Space) that has been updated.
+     * @param change The descriptor of the change.
+     */
+    @Override
+    public void updateView(Subject subject, Change change) {
+        if (subject == space && change == GameChange.HEADING && robotView != null && space.getPlayer() != null) {
+            robotView.setRotate(rotation(space.getPlayer().getHeading()));
+        } else if (subject == space && (change == GameChange.PLAYER || change == GameChange.NAME
+                || change == GameChange.COLOR)) {
+            updatePlayer();
+        } else {
+            updateView(subject);
+        }
+    }
 }
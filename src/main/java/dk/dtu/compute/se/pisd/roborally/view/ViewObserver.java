@@ -21,6 +21,7 @@
  */
 package dk.dtu.compute.se.pisd.roborally.view;
 
+import dk.dtu.compute.se.pisd.designpatterns.observer.Change;
 import dk.dtu.compute.se.pisd.designpatterns.observer.Observer;
 import dk.dtu.compute.se.pisd.designpatterns.observer.Subject;
 import javafx.application.Platform;
@@ -35,15 +36,34 @@ public interface ViewObserver extends Observer {
 
     void updateView(Subject subject);
 
+    /**
+     * Updates the view for a change of the given subject, which is described by
+     * the given descriptor. Views which can update only the affected parts of the
+     * view override this method; by default, the complete view is updated by
+     * {@link #updateView(Subject)}.
+     *
+     * @param subject the subject which changed
+     * @param change the descriptor of the change
+     */
+    default void updateView(Subject subject, Change change) {
+        updateView(subject);
+    }
+
     @Override
     default void update(Subject subject) {
+        update(subject, Change.ANY);
+    }
+
+    @Override
+    default void update(Subject subject, Change change) {
         // This default implementation of the update method makes sure that ViewObserver implementations
         // are doing the update only in the FX application thread. The update of the view is instead
-        // done in the updateView() method;
+        // done in the updateView() method; notifications from other threads are coalesced by the
+        // ViewUpdateDispatcher and executed once per JavaFX pulse.
         if (Platform.isFxApplicationThread()) {
-            updateView(subject);
+            updateView(subject, change);
         } else {
-            Platform.runLater(() -> updateView(subject));
+            ViewUpdateDispatcher.post(this, subject, change);
         }
     }
 
@@ -0,0 +1,185 @@
+
+/*
+ *  This file is part of the initial project provided for the
+ *  course "Project in Software Development (02362)" held at
+ *  DTU Compute at the Technical University of Denmark.
+ *
+ *  Copyright (C) 2019, 2020: Ekkart Kindler, ekki@dtu.dk
+ *
+ *  This software is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation; version 2 of the License.
+ *
+ *  This project is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this project; if not, write to the Free Software
+ *  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ *
+ */
+package dk.dtu.compute.se.pisd.roborally.view;
+
+import dk.dtu.compute.se.pisd.designpatterns.observer.Change;
+import dk.dtu.compute.se.pisd.designpatterns.observer.Subject;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Dispatches the updates of {@link ViewObserver}s, which are notified from a thread
+ * other than the JavaFX application thread. Instead of posting one
+ * {@link Platform#runLater(Runnable)} for every notification, the pending updates
+ * are collected per observer and subject, so that several notifications of the same
+ * subject to the same observer are merged into a single update (with the descriptor
+ * {@link Change#ANY}, if the merged notifications described different changes); the pending updates
+ * are then flushed once per JavaFX pulse by an {@link AnimationTimer}, which runs
+ * only as long as there are updates pending.
+ *
+ * @author Ekkart Kindler, ekki@dtu.dk
+ */
+public final class ViewUpdateDispatcher {
+
+    private static final Object lock = new Object();
+
+    private static Map<ViewObserver, Map<Subject, Change>> pending = new LinkedHashMap<>();
+
+    /**
+     * The timer which flushes the pending updates once per pulse; it is created
+     * only when it is started for the first time, i.e. by the JavaFX toolkit.
+     */
+    private static final class Timer {
+        static final AnimationTimer timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                if (!flush()) {
+                    stop();
+                }
+            }
+        };
+    }
+
+    private static boolean scheduled = false;
+
+    private static long posted = 0;
+    private static long merged = 0;
+    private static long dispatched = 0;
+
+    private ViewUpdateDispatcher() {
+    }
+
+    /**
+     * Schedules the update of the given observer for a change of the given subject,
+     * unless the same update is pending already.
+     *
+     * @param observer the observer to be updated
+     * @param subject the subject which changed
+     * @param change the descriptor of the change
+     */
+    static void post(@NotNull ViewObserver observer, @NotNull Subject subject, @NotNull Change change) {
+        if (enqueue(observer, subject, change)) {
+            Platform.runLater(Timer.timer::start);
+        }
+    }
+
+    /**
+     * Records the update of the given observer for a change of the given subject,
+     * merging it with the same update if it is pending already.
+     *
+     * @param observer the observer to be updated
+     * @param subject the subject which changed
+     * @param change the descriptor of the change
+     * @return true if the timer which flushes the updates must be started
+     */
+    static boolean enqueue(@NotNull ViewObserver observer, @NotNull Subject subject, @NotNull Change change) {
+        boolean start = false;
+        synchronized (lock) {
+            posted++;
+            Map<Subject, Change> changes = pending.computeIfAbsent(observer, o -> new LinkedHashMap<>());
+            Change previous = changes.putIfAbsent(subject, change);
+            if (previous != null) {
+                merged++;
+                if (previous != change) {
+                    changes.put(subject, Change.ANY);
+                }
+            }
+            if (!scheduled) {
+                scheduled = true;
+                start = true;
+            }
+        }
+        return start;
+    }
+
+    /**
+     * Executes the pending updates. The pending updates are taken over as a whole,
+     * and a new map collects the updates posted in the meantime.
+     *
+     * @return false if there were no updates pending, in which case the timer
+     *         must be stopped (it is started again with the next notification)
+     */
+    static boolean flush() {
+        Map<ViewObserver, Map<Subject, Change>> updates;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                scheduled = false;
+                return false;
+            }
+            updates = pending;
+            pending = new LinkedHashMap<>();
+        }
+        int count = 0;
+        for (Map.Entry<ViewObserver, Map<Subject, Change>> update : updates.entrySet()) {
+            ViewObserver observer = update.getKey();
+            for (Map.Entry<Subject, Change> change : update.getValue().entrySet()) {
+                observer.updateView(change.getKey(), change.getValue());
+                count++;
+            }
+        }
+        synchronized (lock) {
+            dispatched += count;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of notifications posted to the dispatcher so far.
+     *
+     * @return the number of posted notifications
+     */
+    public static long getPostedCount() {
+        synchronized (lock) {
+            return posted;
+        }
+    }
+
+    /**
+     * Returns the number of posted notifications which were merged into an
+     * update that was pending already, and thus did not cause an update of
+     * their own.
+     *
+     * @return the number of merged notifications
+     */
+    public static long getMergedCount() {
+        synchronized (lock) {
+            return merged;
+        }
+    }
+
+    /**
+     * Returns the number of updates of the views which were actually executed.
+     *
+     * @return the number of dispatched updates
+     */
+    public static long getDispatchedCount() {
+        synchronized (lock) {
+            return dispatched;
+        }
+    }
+
+}
@@ -0,0 +1,164 @@
+package dk.dtu.compute.se.pisd.designpatterns.observer;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of notifying the observers of a {@link Subject} and the memory
+ * footprint of a subject with those of the previous observer registry, which kept
+ * the observers in a set backed by a {@link WeakHashMap}. Run it with the test
+ * classpath, e.g. in the IDE; the {@link #main(String[])} method first prints the
+ * footprint per subject and then runs the benchmarks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SubjectBenchmark {
+
+    /**
+     * The subject as it was implemented before, with a weak set of observers.
+     */
+    static class WeakHashMapSubject {
+
+        private Set<Observer> observers = Collections.newSetFromMap(new WeakHashMap<>());
+
+        void attach(Observer observer) {
+            observers.add(observer);
+        }
+
+        void notifyChange(Subject subject) {
+            for (Observer observer : observers) {
+                observer.update(subject);
+            }
+        }
+    }
+
+    static class BenchmarkSubject extends Subject {
+        void change() {
+            notifyChange();
+        }
+    }
+
+    static class CountingObserver implements Observer {
+        int updates;
+
+        @Override
+        public void update(Subject subject) {
+            updates++;
+        }
+    }
+
+    @Param({"0", "1", "2"})
+    int observerCount;
+
+    private BenchmarkSubject subject;
+
+    private WeakHashMapSubject weakHashMapSubject;
+
+    private CountingObserver[] observers;
+
+    @Setup
+    public void setUp() {
+        subject = new BenchmarkSubject();
+        weakHashMapSubject = new WeakHashMapSubject();
+        observers = new CountingObserver[observerCount];
+        for (int i = 0; i < observerCount; i++) {
+            observers[i] = new CountingObserver();
+            subject.attach(observers[i]);
+            weakHashMapSubject.attach(observers[i]);
+        }
+    }
+
+    @Benchmark
+    public void notifyObservers() {
+        subject.change();
+    }
+
+    @Benchmark
+    public void notifyWeakHashMapObservers() {
+        weakHashMapSubject.notifyChange(subject);
+    }
+
+    @Benchmark
+    public void createAndAttach(Blackhole blackhole) {
+        BenchmarkSubject created = new BenchmarkSubject();
+        for (CountingObserver observer : observers) {
+            created.attach(observer);
+        }
+        blackhole.consume(created);
+    }
+
+    @Benchmark
+    public void createAndAttachWeakHashMap(Blackhole blackhole) {
+        WeakHashMapSubject created = new WeakHashMapSubject();
+        for (CountingObserver observer : observers) {
+            created.attach(observer);
+        }
+        blackhole.consume(created);
+    }
+
+    private static final int SUBJECTS = 100_000;
+
+    /**
+     * Returns the number of bytes allocated per subject, when creating subjects and
+     * attaching the given number of observers to each of them.
+     */
+    private static long footprint(int observerCount, boolean weakHashMap) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        CountingObserver[] observers = new CountingObserver[observerCount];
+        for (int i = 0; i < observerCount; i++) {
+            observers[i] = new CountingObserver();
+        }
+        Object[] subjects = new Object[SUBJECTS];
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < SUBJECTS; i++) {
+            if (weakHashMap) {
+                WeakHashMapSubject created = new WeakHashMapSubject();
+                for (CountingObserver observer : observers) {
+                    created.attach(observer);
+                }
+                subjects[i] = created;
+            } else {
+                BenchmarkSubject created = new BenchmarkSubject();
+                for (CountingObserver observer : observers) {
+                    created.attach(observer);
+                }
+                subjects[i] = created;
+            }
+        }
+        long after = threads.getCurrentThreadAllocatedBytes();
+        return (after - before) / subjects.length;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int observerCount = 0; observerCount <= 2; observerCount++) {
+            // the first rounds warm up the code, the last one is reported
+            long bytes = 0, weakHashMapBytes = 0;
+            for (int round = 0; round < 5; round++) {
+                bytes = footprint(observerCount, false);
+                weakHashMapBytes = footprint(observerCount, true);
+            }
+            System.out.println("Bytes per subject with " + observerCount + " observer(s): " +
+                    bytes + " (WeakHashMap: " + weakHashMapBytes + ")");
+        }
+
+        Options options = new OptionsBuilder()
+                .include(SubjectBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,211 @@
+package dk.dtu.compute.se.pisd.designpatterns.observer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubjectTest {
+
+    private static class TestSubject extends Subject {
+        void change() {
+            notifyChange();
+        }
+
+        void change(Change change) {
+            notifyChange(change);
+        }
+    }
+
+    private enum TestChange implements Change {
+        FIRST, SECOND
+    }
+
+    private static class TestObserver implements Observer {
+        final List<Subject> updates = new ArrayList<>();
+        final List<Change> changes = new ArrayList<>();
+
+        @Override
+        public void update(Subject subject) {
+            update(subject, Change.ANY);
+        }
+
+        @Override
+        public void update(Subject subject, Change change) {
+            updates.add(subject);
+            changes.add(change);
+        }
+    }
+
+    private TestSubject subject;
+    private TestSubject other;
+    private TestObserver observer;
+
+    @BeforeEach
+    public void setUp() {
+        subject = new TestSubject();
+        other = new TestSubject();
+        observer = new TestObserver();
+        subject.attach(observer);
+        other.attach(observer);
+    }
+
+    @Test
+    public void testNotifyWithoutBatch() {
+        subject.change();
+        subject.change();
+
+        assertEquals(List.of(subject, subject), observer.updates, "Every change should be notified right away.");
+    }
+
+    @Test
+    public void testBatchNotifiesOncePerChangedSubject() {
+        Subject.beginBatch();
+        try {
+            subject.change();
+            subject.change();
+            subject.change();
+            assertTrue(observer.updates.isEmpty(), "Changes should not be notified before the batch is committed.");
+        } finally {
+            Subject.commitBatch();
+        }
+
+        assertEquals(List.of(subject), observer.updates, "A changed subject should notify exactly once; an unchanged one not at all.");
+    }
+
+    @Test
+    public void testNestedBatches() {
+        Subject.beginBatch();
+        try {
+            subject.change();
+            Subject.beginBatch();
+            try {
+                other.change();
+                subject.change();
+            } finally {
+                Subject.commitBatch();
+            }
+            assertTrue(observer.updates.isEmpty(), "Changes should be notified when the outermost batch is committed.");
+        } finally {
+            Subject.commitBatch();
+        }
+
+        assertEquals(List.of(subject, other), observer.updates, "Each changed subject should notify once.");
+
+        subject.change();
+        assertEquals(3, observer.updates.size(), "After the batch, changes should be notified right away again.");
+    }
+
+    @Test
+    public void testTypedChange() {
+        subject.change(TestChange.FIRST);
+        subject.change();
+
+        assertEquals(List.of(TestChange.FIRST, Change.ANY), observer.changes, "The observers should get the descriptor of the change.");
+    }
+
+    @Test
+    public void testUntypedObserver() {
+        List<Subject> updates = new ArrayList<>();
+        Observer untyped = updates::add;
+        subject.attach(untyped);
+
+        subject.change(TestChange.FIRST);
+
+        assertEquals(List.of(subject), updates, "Observers which ignore the descriptor should still be notified.");
+    }
+
+    @Test
+    public void testBatchMergesChanges() {
+        Subject.beginBatch();
+        try {
+            subject.change(TestChange.FIRST);
+            subject.change(TestChange.FIRST);
+            other.change(TestChange.FIRST);
+            other.change(TestChange.SECOND);
+        } finally {
+            Subject.commitBatch();
+        }
+
+        assertEquals(List.of(subject, other), observer.updates);
+        assertEquals(List.of(TestChange.FIRST, Change.ANY), observer.changes,
+                "Equal changes should keep their descriptor; different ones should be merged to ANY.");
+    }
+
+    @Test
+    public void testBatchesOfDifferentThreads() throws InterruptedException {
+        Subject.beginBatch();
+        try {
+            subject.change(TestChange.FIRST);
+            Thread thread = new Thread(() -> {
+                Subject.beginBatch();
+                try {
+                    subject.change(TestChange.SECOND);
+                    subject.change(TestChange.SECOND);
+                    other.change(TestChange.SECOND);
+                } finally {
+                    Subject.commitBatch();
+                }
+            });
+            thread.start();
+            thread.join();
+
+            assertEquals(List.of(subject, other), observer.updates,
+                    "The batch of the other thread should notify its changes when it is committed.");
+            assertEquals(List.of(TestChange.SECOND, TestChange.SECOND), observer.changes);
+            subject.change(TestChange.FIRST);
+        } finally {
+            Subject.commitBatch();
+        }
+
+        assertEquals(List.of(subject, other, subject), observer.updates);
+        assertEquals(TestChange.FIRST, observer.changes.get(2), "The changes of different batches should not be merged.");
+    }
+
+    @Test
+    public void testAttachTwice() {
+        subject.attach(observer);
+        subject.change();
+
+        assertEquals(List.of(subject), observer.updates, "An observer registered twice should be notified once.");
+    }
+
+    @Test
+    public void testDetach() {
+        TestObserver second = new TestObserver();
+        subject.attach(second);
+        subject.detach(observer);
+        subject.change();
+        subject.detach(second);
+        subject.change();
+
+        assertTrue(observer.updates.isEmpty(), "A detached observer should not be notified.");
+        assertEquals(List.of(subject), second.updates);
+    }
+
+    @Test
+    public void testDetachWhileNotifying() {
+        TestObserver second = new TestObserver();
+        Observer detaching = s -> {
+            s.detach(second);
+            s.attach(new TestObserver());
+        };
+        subject.detach(observer);
+        subject.attach(detaching);
+        subject.attach(second);
+
+        subject.change();
+        assertEquals(List.of(subject), second.updates, "Observers changed during a notification should not affect it.");
+
+        subject.change();
+        assertEquals(1, second.updates.size(), "A detached observer should not be notified any more.");
+    }
+
+    @Test
+    public void testCommitWithoutBatch() {
+        assertThrows(IllegalStateException.class, Subject::commitBatch);
+    }
+}
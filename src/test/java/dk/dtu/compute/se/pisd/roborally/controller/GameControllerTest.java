@@ -1,9 +1,16 @@
 package dk.dtu.compute.se.pisd.roborally.controller;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import dk.dtu.compute.se.pisd.roborally.model.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class GameControllerTest {
@@ -17,7 +24,7 @@ public class GameControllerTest {
     public void setUp() {
         board = new Board(8, 8);
         gameController = new GameController(board);
-        player = new Player(board, "Blue", "TestPlayer");
+        player = new Player(board, "Blue", "TestPlayer", gameController);
         board.addPlayer(player);
         Space startingSpace = board.getSpace(0, 0); // Initial position for testing purposes
         player.setSpace(startingSpace);
@@ -28,6 +35,7 @@ public class GameControllerTest {
     public void testMoveCurrentPlayerToSpace() {
         Space originalSpace = board.getCurrentPlayer().getSpace();
         Space targetSpace = board.getSpace(1, 1);
+        targetSpace.setType(ActionField.STARTING_GEAR);
         gameController.moveCurrentPlayerToSpace(targetSpace);
 
         assertEquals(targetSpace, board.getCurrentPlayer().getSpace(), "Current player should move to the target space.");
@@ -42,6 +50,11 @@ public class GameControllerTest {
 
     @Test
     public void testFinishProgrammingPhase() {
+        // the robots must have been placed on the starting gears first
+        Space startingGear = board.getSpace(1, 1);
+        startingGear.setType(ActionField.STARTING_GEAR);
+        gameController.moveCurrentPlayerToSpace(startingGear);
+
         gameController.startProgrammingPhase();
         gameController.finishProgrammingPhase();
         assertEquals(Phase.ACTIVATION, board.getPhase(), "Board phase should transition to ACTIVATION.");
@@ -51,7 +64,7 @@ public class GameControllerTest {
     public void testExecuteCommandForward() {
         player.setSpace(board.getSpace(4, 4));
         player.setHeading(Heading.NORTH);
-        CommandCard forwardCard = new CommandCard(Command.FORWARD);
+        CommandCard forwardCard = CommandCard.of(Command.FORWARD, "program");
         gameController.executeCommand(player, forwardCard.command);
 
         assertEquals(board.getSpace(4, 3), player.getSpace(), "Player should have moved north by one space.");
@@ -62,7 +75,7 @@ public class GameControllerTest {
     @Test
     public void testExecuteCommandTurnRight() {
         player.setHeading(Heading.NORTH);
-        CommandCard turnRightCard = new CommandCard(Command.RIGHT);
+        CommandCard turnRightCard = CommandCard.of(Command.RIGHT, "program");
         gameController.executeCommand(player, turnRightCard.command);
 
         assertEquals(Heading.EAST, player.getHeading(), "Player should be facing East after turning right.");
@@ -71,7 +84,7 @@ public class GameControllerTest {
     @Test
     public void testExecuteCommandTurnLeft() {
         player.setHeading(Heading.NORTH);
-        CommandCard turnLeftCard = new CommandCard(Command.LEFT);
+        CommandCard turnLeftCard = CommandCard.of(Command.LEFT, "program");
         gameController.executeCommand(player, turnLeftCard.command);
 
         assertEquals(Heading.WEST, player.getHeading(), "Player should be facing West after turning left.");
@@ -79,14 +92,14 @@ public class GameControllerTest {
 
     @Test
     public void testMoveCards() {
-        CommandCardField source = new CommandCardField(player);
-        CommandCardField target = new CommandCardField(player);
-        CommandCard card = new CommandCard(Command.FORWARD);
+        CommandCardField source = new CommandCardField(player, "program");
+        CommandCardField target = new CommandCardField(player, "program");
+        CommandCard card = CommandCard.of(Command.FORWARD, "program");
         source.setCard(card);
         boolean result = gameController.moveCards(source, target);
         assertTrue(result, "Card should be moved successfully.");
-        assertNull(source.getCard(), "Source field should be empty after move.");
-        assertEquals(card, target.getCard(), "Target field should contain the moved card.");
+        assertTrue(source.getCard().isEmpty(), "Source field should be empty after move.");
+        assertEquals(card, target.getCard().orElse(null), "Target field should contain the moved card.");
     }
 
     @Test
@@ -111,7 +124,7 @@ public class GameControllerTest {
     public void testMoveOffBoard() {
         player.setSpace(board.getSpace(0, 0));
         player.setHeading(Heading.WEST); // Facing off the board
-        gameController.moveForward(player);
+        gameController.moveForward(player, 1, true);
 
         // Player should remain in the same place
         assertEquals(board.getSpace(0, 0), player.getSpace(), "Player should not move off the board.");
@@ -119,19 +132,575 @@ public class GameControllerTest {
 
     @Test
     public void testMoveOntoOccupiedSpace() {
-        Player otherPlayer = new Player(board, "Green", "Player2");
+        Player otherPlayer = new Player(board, "Green", "Player2", gameController);
         board.addPlayer(otherPlayer);
-        Space startingSpace = board.getSpace(4, 4);
-        Space occupiedSpace = board.getSpace(4, 3);
+        // the other player stands at the edge of the board, so it cannot be pushed
+        Space startingSpace = board.getSpace(4, 1);
+        Space occupiedSpace = board.getSpace(4, 0);
         player.setSpace(startingSpace);
         player.setHeading(Heading.NORTH);
         otherPlayer.setSpace(occupiedSpace);
 
-        gameController.moveForward(player);
+        gameController.moveForward(player, 1, true);
 
         // Player should remain in the starting space
         assertEquals(startingSpace, player.getSpace(), "Player should not move onto an occupied space.");
         // The other player should still be in the occupied space
         assertEquals(otherPlayer, occupiedSpace.getPlayer(), "The other player should remain on the occupied space.");
     }
+
+    @Test
+    public void testPushChain() {
+        Player player2 = new Player(board, "Green", "Player2", gameController);
+        Player player3 = new Player(board, "Red", "Player3", gameController);
+        board.addPlayer(player2);
+        board.addPlayer(player3);
+        player.setSpace(board.getSpace(1, 2));
+        player2.setSpace(board.getSpace(2, 2));
+        player3.setSpace(board.getSpace(3, 2));
+        board.getSpace(6, 2).setType(ActionField.WALL);
+        player.setHeading(Heading.EAST);
+
+        int[] notifications = new int[1];
+        board.getSpace(3, 2).attach(subject -> notifications[0]++);
+
+        // the whole line of robots is pushed, until the last one stands in front of the wall
+        gameController.moveForward(player, 3, true);
+
+        assertEquals(board.getSpace(3, 2), player.getSpace(), "The robot should stop when the chain is blocked.");
+        assertEquals(board.getSpace(4, 2), player2.getSpace(), "The second robot should be pushed by two spaces.");
+        assertEquals(board.getSpace(5, 2), player3.getSpace(), "The third robot should be pushed against the wall.");
+        assertNull(board.getSpace(1, 2).getPlayer());
+        assertNull(board.getSpace(2, 2).getPlayer());
+        assertEquals(1, notifications[0], "A space should notify its observers once for the whole move.");
+    }
+
+    @Test
+    public void testOccupiedSpaces() {
+        Player otherPlayer = new Player(board, "Green", "Player2", gameController);
+        board.addPlayer(otherPlayer);
+        otherPlayer.setSpace(board.getSpace(3, 1));
+        player.setSpace(board.getSpace(3, 0));
+
+        assertEquals(List.of(board.getSpace(3, 0), board.getSpace(3, 1)), board.getOccupiedSpaces(),
+                "The occupied spaces should be listed in scan order.");
+
+        otherPlayer.setSpace(board.getSpace(1, 5));
+        player.setSpace(null);
+
+        assertEquals(List.of(board.getSpace(1, 5)), board.getOccupiedSpaces(),
+                "Spaces left by the robots should not be listed any more.");
+    }
+
+    @Test
+    public void testConveyorActivatedOnce() {
+        // the belts head north, so a right conveyor belt moves the robots east
+        for (int x = 2; x <= 4; x++) {
+            board.getSpace(x, 2).setType(ActionField.RIGHT_CONVEYOR_BELT);
+        }
+        player.setSpace(board.getSpace(2, 2));
+        player.setHeading(Heading.NORTH);
+
+        gameController.executeCommand(player, Command.RIGHT);
+
+        assertEquals(board.getSpace(3, 2), player.getSpace(), "The belt should move the robot by one space only.");
+        assertEquals(Heading.EAST, player.getHeading(), "The belt should not change the robot's heading.");
+    }
+
+    @Test
+    public void testBeltStopsAtWallAndEdge() {
+        // the belts of this board head north
+        board.getSpace(3, 0).setType(ActionField.CONVEYOR_BELT);
+        board.getSpace(5, 4).setType(ActionField.DOUBLE_CONVEYOR_BELT);
+        board.getSpace(5, 2).setType(ActionField.WALL);
+        ElementTransitions transitions = board.getTransitions();
+
+        assertEquals(transitions.cell(board.getSpace(3, 0)), transitions.getTarget(transitions.cell(board.getSpace(3, 0))),
+                "A belt should not move a robot beyond the edge of the board.");
+        assertEquals(transitions.cell(board.getSpace(5, 3)), transitions.getTarget(transitions.cell(board.getSpace(5, 4))),
+                "A belt should stop a robot before a wall.");
+
+        player.setSpace(board.getSpace(5, 4));
+        gameController.activateSpaces();
+
+        assertEquals(board.getSpace(5, 3), player.getSpace());
+    }
+
+    @Test
+    public void testBeltsMoveSimultaneously() {
+        Player[] others = new Player[5];
+        for (int i = 0; i < others.length; i++) {
+            others[i] = new Player(board, "Green", "Player" + (i + 2), gameController);
+            board.addPlayer(others[i]);
+        }
+        // the belts of this board head north; a line of robots moves as one
+        board.getSpace(2, 3).setType(ActionField.CONVEYOR_BELT);
+        board.getSpace(2, 4).setType(ActionField.CONVEYOR_BELT);
+        player.setSpace(board.getSpace(2, 4));
+        others[0].setSpace(board.getSpace(2, 3));
+        // two robots would be moved onto the same space
+        board.getSpace(4, 5).setType(ActionField.RIGHT_CONVEYOR_BELT);
+        board.getSpace(5, 6).setType(ActionField.CONVEYOR_BELT);
+        others[1].setSpace(board.getSpace(4, 5));
+        others[2].setSpace(board.getSpace(5, 6));
+        // two robots would be moved onto each other's spaces
+        board.getSpace(0, 1).setType(ActionField.RIGHT_CONVEYOR_BELT);
+        board.getSpace(1, 1).setType(ActionField.LEFT_CONVEYOR_BELT);
+        others[3].setSpace(board.getSpace(0, 1));
+        others[4].setSpace(board.getSpace(1, 1));
+
+        gameController.activatePhase(ActivationPhase.BELTS);
+
+        assertEquals(board.getSpace(2, 3), player.getSpace(), "The robot should follow the robot in front of it.");
+        assertEquals(board.getSpace(2, 2), others[0].getSpace());
+        assertEquals(board.getSpace(4, 5), others[1].getSpace(), "Robots moved onto the same space should not move.");
+        assertEquals(board.getSpace(5, 6), others[2].getSpace(), "Robots moved onto the same space should not move.");
+        assertEquals(board.getSpace(0, 1), others[3].getSpace(), "Robots moved head-on should not move.");
+        assertEquals(board.getSpace(1, 1), others[4].getSpace(), "Robots moved head-on should not move.");
+        assertEquals(6, board.getOccupiedSpaces().size());
+    }
+
+    @Test
+    public void testBeltConflictStopsChains() {
+        Player[] others = new Player[5];
+        for (int i = 0; i < others.length; i++) {
+            others[i] = new Player(board, "Green", "Player" + (i + 2), gameController);
+            board.addPlayer(others[i]);
+        }
+        // two robots would be moved onto the same space (5,5), so both stop
+        board.getSpace(4, 5).setType(ActionField.RIGHT_CONVEYOR_BELT);
+        board.getSpace(5, 6).setType(ActionField.CONVEYOR_BELT);
+        others[0].setSpace(board.getSpace(4, 5));
+        others[1].setSpace(board.getSpace(5, 6));
+        // the lines of robots behind them on the belts stop as well
+        board.getSpace(5, 7).setType(ActionField.CONVEYOR_BELT);
+        board.getSpace(3, 5).setType(ActionField.RIGHT_CONVEYOR_BELT);
+        board.getSpace(2, 5).setType(ActionField.RIGHT_CONVEYOR_BELT);
+        others[2].setSpace(board.getSpace(5, 7));
+        others[3].setSpace(board.getSpace(3, 5));
+        others[4].setSpace(board.getSpace(2, 5));
+        // a robot on a belt elsewhere still moves
+        board.getSpace(0, 7).setType(ActionField.CONVEYOR_BELT);
+        board.getSpace(0, 6).setType(ActionField.CONVEYOR_BELT);
+        player.setSpace(board.getSpace(0, 7));
+
+        gameController.activatePhase(ActivationPhase.BELTS);
+
+        assertEquals(board.getSpace(4, 5), others[0].getSpace(), "Robots moved onto the same space should not move.");
+        assertEquals(board.getSpace(5, 6), others[1].getSpace(), "Robots moved onto the same space should not move.");
+        assertEquals(board.getSpace(5, 7), others[2].getSpace(), "A robot behind a stopped robot should not move.");
+        assertEquals(board.getSpace(3, 5), others[3].getSpace(), "A robot behind a stopped robot should not move.");
+        assertEquals(board.getSpace(2, 5), others[4].getSpace(), "The stop should propagate along the line of robots.");
+        assertEquals(board.getSpace(0, 6), player.getSpace());
+
+        // the buffers of the resolver are reused by the next activation
+        gameController.activatePhase(ActivationPhase.BELTS);
+        assertEquals(board.getSpace(0, 5), player.getSpace());
+        assertEquals(board.getSpace(2, 5), others[4].getSpace());
+        assertEquals(6, board.getOccupiedCount());
+    }
+
+    @Test
+    public void testBeltsStopBehindRobot() {
+        Player player2 = new Player(board, "Green", "Player2", gameController);
+        Player blocker = new Player(board, "Red", "Blocker", gameController);
+        board.addPlayer(player2);
+        board.addPlayer(blocker);
+        // an express belt passing a robot, and a line of robots behind a robot which does not move
+        board.getSpace(6, 3).setType(ActionField.DOUBLE_CONVEYOR_BELT);
+        board.getSpace(6, 4).setType(ActionField.DOUBLE_CONVEYOR_BELT);
+        player.setSpace(board.getSpace(6, 4));
+        player2.setSpace(board.getSpace(6, 3));
+        blocker.setSpace(board.getSpace(6, 1));
+
+        gameController.activatePhase(ActivationPhase.EXPRESS_BELTS);
+
+        assertEquals(board.getSpace(6, 3), player2.getSpace(), "A robot should not move onto a robot which does not move.");
+        assertEquals(board.getSpace(6, 4), player.getSpace(), "A line of robots behind a stopped robot should stop.");
+        assertEquals(board.getSpace(6, 1), blocker.getSpace());
+
+        blocker.setSpace(board.getSpace(7, 1));
+        gameController.activatePhase(ActivationPhase.EXPRESS_BELTS);
+
+        assertEquals(board.getSpace(6, 1), player2.getSpace());
+        assertEquals(board.getSpace(6, 2), player.getSpace(), "The robot should pass the space which the other robot left.");
+    }
+
+    @Test
+    public void testBoardLasers() {
+        Player player2 = new Player(board, "Green", "Player2", gameController);
+        Player player3 = new Player(board, "Red", "Player3", gameController);
+        board.addPlayer(player2);
+        board.addPlayer(player3);
+        // the lasers of this board head north, so their beams run south
+        board.getSpace(2, 2).setType(ActionField.BOARD_LASER_START);
+        board.getSpace(2, 6).setType(ActionField.WALL);
+        board.getSpace(5, 0).setType(ActionField.BOARD_LASER_START);
+        board.getSpace(5, 3).setType(ActionField.BOARD_LASER_END);
+        player.setSpace(board.getSpace(2, 4));
+        player2.setSpace(board.getSpace(2, 5));
+        player3.setSpace(board.getSpace(5, 5));
+
+        BoardLasers lasers = board.getLasers();
+        assertEquals(2, lasers.getLaserCount());
+        assertEquals(4, lasers.getBeam(0).length, "The beam should end in front of the wall.");
+        assertEquals(4, lasers.getBeam(1).length, "The beam should end on the end of the laser.");
+        assertEquals(List.of(player), lasers.fire(board), "The laser should hit the first robot on its beam only.");
+
+        // robots do not get damage by moving across a beam
+        player.setHeading(Heading.WEST);
+        gameController.moveForward(player, 2, true);
+        player3.setHeading(Heading.NORTH);
+        gameController.moveForward(player3, 3, true);
+        assertEquals(List.of(player3, player2), board.getLasers().fire(board));
+
+        board.getSpace(2, 3).setType(ActionField.WALL);
+        assertEquals(List.of(player3), board.getLasers().fire(board), "The beam should be updated after a wall was added.");
+    }
+
+    @Test
+    public void testBoardLaserLimits() {
+        // the lasers of this board head north, so the beam runs south along the column
+        Board tall = new Board(1, BoardLasers.MAX_BEAM_CELLS + 1);
+        tall.getSpace(0, 0).setType(ActionField.BOARD_LASER_START);
+        assertThrows(IllegalArgumentException.class, tall::getLasers, "A beam which is too long should be rejected.");
+
+        tall.getSpace(0, BoardLasers.MAX_BEAM_CELLS - 1).setType(ActionField.BOARD_LASER_END);
+        assertEquals(BoardLasers.MAX_BEAM_CELLS, tall.getLasers().getBeam(0).length);
+    }
+
+    /**
+     * Counts the damage cards in the deck of the given player, by dealing all its cards.
+     */
+    private static int countDamage(Player player) {
+        Deck deck = player.getDeck();
+        int damage = 0;
+        for (int i = deck.getDrawPileSize() + deck.getDiscardPileSize(); i > 0; i--) {
+            if (deck.deal().command == Command.SPAM) {
+                damage++;
+            }
+        }
+        return damage;
+    }
+
+    @Test
+    public void testBoardLasersFireOncePerRegister() {
+        Player player2 = new Player(board, "Green", "Player2", gameController);
+        board.addPlayer(player2);
+        board.getSpace(2, 2).setType(ActionField.BOARD_LASER_START);
+        player.setSpace(board.getSpace(2, 4));
+        player2.setSpace(board.getSpace(7, 7));
+        player.getProgramField(0).setCard(CommandCard.of(Command.RIGHT, "program"));
+        player2.getProgramField(0).setCard(CommandCard.of(Command.RIGHT, "program"));
+        board.setPhase(Phase.ACTIVATION);
+        board.setStep(0);
+
+        gameController.executeRegister();
+
+        assertEquals(1, countDamage(player), "The robot in the beam should be hit once per register, not once per card.");
+        assertEquals(0, countDamage(player2));
+    }
+
+    @Test
+    public void testLasersFireAfterInteractiveCard() {
+        Player player2 = new Player(board, "Green", "Player2", gameController);
+        board.addPlayer(player2);
+        board.getSpace(2, 2).setType(ActionField.BOARD_LASER_START);
+        player.setSpace(board.getSpace(2, 4));
+        player.setHeading(Heading.EAST);
+        player2.setSpace(board.getSpace(2, 6));
+        player.getProgramField(0).setCard(CommandCard.of(Command.OPTION_LEFT_FORWARD, "program"));
+        board.setPhase(Phase.ACTIVATION);
+        board.setStep(0);
+
+        gameController.executeRegister();
+
+        assertEquals(Phase.PLAYER_INTERACTION, board.getPhase());
+        assertEquals(0, countDamage(player), "The lasers should not fire before the interactive card is resolved.");
+        assertEquals(0, countDamage(player2));
+
+        gameController.executeCommandOptionAndContinue(player, Command.FORWARD);
+
+        assertEquals(board.getSpace(3, 4), player.getSpace());
+        assertEquals(0, countDamage(player), "The robot should have left the beam before the lasers fire.");
+        assertEquals(1, countDamage(player2), "The lasers should fire once the interactive card is resolved.");
+    }
+
+    @Test
+    public void testBoardLasersFireOncePerStep() {
+        Player player2 = new Player(board, "Green", "Player2", gameController);
+        board.addPlayer(player2);
+        board.getSpace(2, 2).setType(ActionField.BOARD_LASER_START);
+        player.setSpace(board.getSpace(2, 4));
+        player2.setSpace(board.getSpace(7, 7));
+        player.getProgramField(0).setCard(CommandCard.of(Command.RIGHT, "program"));
+        player2.getProgramField(0).setCard(CommandCard.of(Command.Again, "program"));
+        board.setPhase(Phase.ACTIVATION);
+        board.setStep(0);
+        board.setCurrentPlayer(player);
+
+        gameController.executeStep();
+
+        assertEquals(Player.NO_REGISTERS, countDamage(player), "The lasers should fire once after every register.");
+        assertEquals(0, countDamage(player2));
+    }
+
+    @Test
+    public void testRobotLasers() {
+        List<String> hits = new java.util.ArrayList<>();
+        gameController = new GameController(board, new GameEventListener() {
+            @Override
+            public void announceWinner(Player winner) {
+            }
+
+            @Override
+            public void robotHit(Player shooter, Player target) {
+                hits.add(shooter.getName() + "->" + target.getName());
+            }
+        });
+        Player player2 = new Player(board, "Green", "Player2", gameController);
+        Player player3 = new Player(board, "Red", "Player3", gameController);
+        board.addPlayer(player2);
+        board.addPlayer(player3);
+        player.setSpace(board.getSpace(1, 1));
+        player.setHeading(Heading.EAST);
+        player2.setSpace(board.getSpace(6, 1));
+        player2.setHeading(Heading.SOUTH);
+        player3.setSpace(board.getSpace(6, 6));
+        player3.setHeading(Heading.NORTH);
+        board.getSpace(6, 4).setType(ActionField.WALL);
+
+        assertEquals(player2, board.getRobotInSight(1, 1, Heading.EAST));
+        assertNull(board.getRobotInSight(6, 1, Heading.SOUTH), "A wall should stop the laser.");
+        assertNull(board.getRobotInSight(1, 1, Heading.WEST), "The laser should stop at the edge of the board.");
+
+        assertEquals(1, gameController.activateRobotLasers());
+        assertEquals(List.of("TestPlayer->Player2"), hits);
+
+        board.getSpace(6, 4).setType(ActionField.NORMAL);
+        hits.clear();
+        assertEquals(3, gameController.activateRobotLasers());
+        assertEquals(List.of("TestPlayer->Player2", "Player2->Player3", "Player3->Player2"), hits);
+    }
+
+    @Test
+    public void testRobotLasersFireOncePerRegister() {
+        int[] hits = new int[1];
+        gameController = new GameController(board, new GameEventListener() {
+            @Override
+            public void announceWinner(Player winner) {
+            }
+
+            @Override
+            public void robotHit(Player shooter, Player target) {
+                hits[0]++;
+            }
+        });
+        Player player2 = new Player(board, "Green", "Player2", gameController);
+        board.addPlayer(player2);
+        player.setSpace(board.getSpace(1, 1));
+        player.setHeading(Heading.EAST);
+        player2.setSpace(board.getSpace(6, 1));
+        player2.setHeading(Heading.WEST);
+        // cards which neither move nor turn the robots
+        player.getProgramField(0).setCard(CommandCard.of(Command.Again, "program"));
+        player2.getProgramField(0).setCard(CommandCard.of(Command.Again, "program"));
+        board.setPhase(Phase.ACTIVATION);
+        board.setStep(0);
+
+        gameController.executeRegister();
+        assertEquals(2, hits[0], "Each robot should fire once per register, not once per card.");
+
+        hits[0] = 0;
+        board.setPhase(Phase.ACTIVATION);
+        board.setStep(0);
+        board.setCurrentPlayer(player);
+        gameController.executeStep();
+        assertEquals(2 * Player.NO_REGISTERS, hits[0], "Each robot should fire once after every register.");
+    }
+
+    @Test
+    public void testTurnOrder() {
+        Player player2 = new Player(board, "Green", "Player2", gameController);
+        Player player3 = new Player(board, "Red", "Player3", gameController);
+        board.addPlayer(player2);
+        board.addPlayer(player3);
+        // the antenna of this board heads north
+        board.getSpace(4, 4).setType(ActionField.PRIORITY_ANTENNA);
+        player.setSpace(board.getSpace(6, 4));
+        player2.setSpace(board.getSpace(4, 2));
+        player3.setSpace(board.getSpace(3, 4));
+
+        board.determineTurn(4, 4);
+
+        // player3 is closest; player2 and player are at the same distance, but the ray
+        // from the front of the antenna turning clockwise passes player2 first
+        assertEquals(List.of(player3, player2, player), board.getPlayers());
+        assertEquals(player3, board.getCurrentTurn());
+
+        player3.setSpace(board.getSpace(0, 0));
+        TurnOrder turnOrder = board.getTurnOrder();
+        assertEquals(player2, turnOrder.getPlayer(0), "The order should be updated when a robot moves.");
+        assertEquals(player, turnOrder.getPlayer(1));
+        assertEquals(player3, turnOrder.getPlayer(2));
+        assertTrue(turnOrder.getPriority(5, 3) < turnOrder.getPriority(6, 4));
+        assertTrue(turnOrder.getPriority(3, 5) > turnOrder.getPriority(6, 4));
+        assertTrue(turnOrder.getPriority(2, 4) > turnOrder.getPriority(3, 5));
+        assertTrue(turnOrder.getPriority(4, 1) > turnOrder.getPriority(2, 4));
+    }
+
+    @Test
+    public void testWinner() {
+        Course course = Courses.dense(8, 8, new Space(null, 2, 0, 1), new Space(null, 4, 0, 2));
+        Board courseBoard = new Board(course, "checkpoints");
+        List<Player> winners = new java.util.ArrayList<>();
+        GameController controller = new GameController(courseBoard, winners::add);
+        Player robot = new Player(courseBoard, "red", "Player 1", controller);
+        courseBoard.addPlayer(robot);
+        robot.setSpace(courseBoard.getSpace(0, 0));
+        robot.setHeading(Heading.EAST);
+
+        controller.executeCommand(robot, Command.FORWARD1);
+        assertEquals(1, robot.getIndex());
+        assertNull(courseBoard.getWinner());
+
+        controller.executeCommand(robot, Command.FORWARD1);
+        assertEquals(robot, courseBoard.getWinner(), "The robot should win on the last checkpoint.");
+        controller.executeCommand(robot, Command.LEFT);
+        assertEquals(List.of(robot), winners, "The winner should be announced once.");
+
+        // a board without checkpoints has no winner
+        gameController.executeCommand(player, Command.FORWARD);
+        assertNull(board.getWinner());
+        assertTrue(gameController.getWinner().isEmpty());
+    }
+
+    @Test
+    public void testPlayerQueries() {
+        Player player2 = new Player(board, "Green", "Player2", gameController);
+        board.addPlayer(player2);
+        List<Player> view = board.getPlayersView();
+        assertEquals(List.of(player, player2), view);
+        assertThrows(UnsupportedOperationException.class, () -> view.add(player));
+
+        assertSame(player2, board.getPlayerByName("Player2"));
+        player2.setName("Renamed");
+        assertNull(board.getPlayerByName("Player2"));
+        assertSame(player2, board.findCorrespondingPlayer(player2));
+
+        int[] count = new int[1];
+        board.forEachPlayer(p -> count[0]++);
+        assertEquals(2, count[0]);
+        count[0] = 0;
+        board.forEachSpace(space -> count[0]++);
+        assertEquals(board.width * board.height, count[0]);
+
+        board.setCurrentTurn(player);
+        board.moveCurrentTurn();
+        assertSame(player2, board.getCurrentTurn(), "The turn should move to the next player.");
+    }
+
+    private static List<Command> dealCards(long seed) {
+        Board seededBoard = new Board(8, 8);
+        GameController controller = new GameController(seededBoard, null, seed);
+        List<Command> commands = new java.util.ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Player seededPlayer = new Player(seededBoard, "red", "Player " + (i + 1), controller);
+            seededBoard.addPlayer(seededPlayer);
+            for (int j = 0; j < 20; j++) {
+                CommandCard card = seededPlayer.getDeck().deal();
+                commands.add(card.command);
+                seededPlayer.getDeck().sendToDiscardPile(card);
+            }
+        }
+        commands.add(controller.generateUpgradeCard().command);
+        return commands;
+    }
+
+    @Test
+    public void testSeededGame() {
+        assertEquals(dealCards(42), dealCards(42), "A game should be replayed exactly from its seed.");
+        assertNotEquals(dealCards(42), dealCards(43));
+        assertEquals(7, new GameController(board, null, 7).getSeed());
+    }
+
+    @Test
+    public void testElementIndex() {
+        board.getSpace(5, 1).setType(ActionField.LEFT_GEAR);
+        board.getSpace(2, 6).setType(ActionField.LEFT_GEAR);
+        board.getSpace(2, 3).setType(ActionField.LEFT_GEAR);
+
+        assertEquals(List.of(board.getSpace(2, 3), board.getSpace(2, 6), board.getSpace(5, 1)),
+                board.getElements(ActionField.LEFT_GEAR), "The elements should be listed in scan order.");
+
+        board.getSpace(2, 6).setType(ActionField.NORMAL);
+
+        assertEquals(2, board.getElementCount(ActionField.LEFT_GEAR));
+        assertTrue(board.getElements(ActionField.RIGHT_GEAR).isEmpty());
+        assertEquals(board.width * board.height - 2, board.getElementCount(ActionField.NORMAL));
+    }
+
+    @Test
+    public void testActivationPhases() {
+        // the express belt heads north and moves the robot onto a gear,
+        // which turns the robot in the later gear phase
+        board.getSpace(2, 5).setType(ActionField.DOUBLE_CONVEYOR_BELT);
+        board.getSpace(2, 3).setType(ActionField.RIGHT_GEAR);
+        player.setSpace(board.getSpace(2, 5));
+        player.setHeading(Heading.NORTH);
+
+        gameController.executeCommand(player, Command.RIGHT);
+
+        assertEquals(board.getSpace(2, 3), player.getSpace(), "The express belt should move the robot by two spaces.");
+        assertEquals(Heading.SOUTH, player.getHeading(), "The gear should turn the robot after the belt moved it.");
+    }
+
+    @Test
+    public void testLargeBoardTiles() {
+        Board large = new Board(400, 250);
+        TileGrid tiles = large.getTiles();
+        Space space = large.getSpace(399, 249);
+        space.setType(ActionField.LEFT_GEAR);
+
+        assertEquals(ActionField.LEFT_GEAR, tiles.getType(tiles.cell(399, 249)), "The tile should follow the type of the space.");
+        assertEquals(Heading.NORTH, tiles.getHeading(tiles.cell(399, 249)));
+        assertEquals(ActionField.NORMAL, tiles.getType(tiles.cell(0, 0)));
+        assertEquals(1, large.getElementCount(ActionField.LEFT_GEAR));
+        assertSame(space, large.getSpace(399, 249), "A space should be created only once.");
+        assertThrows(IllegalArgumentException.class, () -> large.getSpace(400, 0));
+    }
+
+    @Test
+    public void testHeadlessCourseBoard() throws Exception {
+        // the board of a real course is created and played without the JavaFX toolkit
+        Gson gson = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create();
+        Course course;
+        try (Reader reader = new InputStreamReader(
+                getClass().getResourceAsStream("/courses/Course 1.json"), StandardCharsets.UTF_8)) {
+            course = gson.fromJson(reader, Course.class);
+        }
+        Board courseBoard = new Board(course, "headless");
+        GameController controller = new GameController(courseBoard);
+        Player robot = new Player(courseBoard, "red", "Player 1", controller);
+        courseBoard.addPlayer(robot);
+        robot.setSpace(courseBoard.getSpace(5, 5));
+        robot.setHeading(Heading.NORTH);
+
+        controller.executeCommand(robot, Command.FORWARD);
+
+        assertEquals(courseBoard.getSpace(5, 4), robot.getSpace(), "Player should have moved north by one space.");
+
+        // the spaces created from the tiles are the ones of the course
+        TileGrid tiles = courseBoard.getTiles();
+        for (int x = 0; x < courseBoard.width; x++) {
+            for (int y = 0; y < courseBoard.height; y++) {
+                Space expected = courseBoard.createSpaceFromType(x, y, course.getSpaces().get(y).get(x));
+                Space space = courseBoard.getSpace(x, y);
+                assertEquals(expected.getType(), space.getType());
+                assertEquals(expected.getHeading(), space.getHeading());
+                assertEquals(expected.getIndex(), space.getIndex());
+                assertEquals(expected.getType(), tiles.getType(tiles.cell(x, y)));
+            }
+        }
+    }
 }
@@ -0,0 +1,131 @@
+package dk.dtu.compute.se.pisd.roborally.controller;
+
+import dk.dtu.compute.se.pisd.roborally.model.*;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that moving and turning the robots (including the updates of the turn order),
+ * activating the board elements and firing the lasers does not allocate any objects,
+ * once the spaces of the board are created.
+ */
+public class MovementAllocationTest {
+
+    private static final int MOVES = 1_000_000;
+
+    private Board board;
+    private GameController gameController;
+    private Player player1;
+    private Player player2;
+
+    private void setUpBoard() {
+        board = new Board(8, 8);
+        gameController = new GameController(board);
+        board.getSpace(3, 3).setType(ActionField.WALL);
+        board.getSpace(5, 1).setType(ActionField.WALL);
+        board.getSpace(1, 6).setType(ActionField.WALL);
+        player1 = new Player(board, "red", "Player 1", gameController);
+        player2 = new Player(board, "blue", "Player 2", gameController);
+        board.addPlayer(player1);
+        board.addPlayer(player2);
+        player1.setSpace(board.getSpace(0, 0));
+        player2.setSpace(board.getSpace(2, 0));
+        // the turn order of the antenna is updated with every move
+        board.determineTurn(4, 4);
+        // create all spaces up front, so that only the movement itself is measured
+        board.getSpacesList();
+    }
+
+    private void run(int moves) {
+        for (int i = 0; i < moves; i++) {
+            Player player = (i & 1) == 0 ? player1 : player2;
+            gameController.moveForward(player, 1 + i % 3, (i & 4) == 0);
+            if (i % 5 == 0) {
+                gameController.turnRight(player);
+            } else if (i % 7 == 0) {
+                gameController.turnLeft(player);
+            }
+            if (i % 11 == 0) {
+                player.move(1);
+            }
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean threads() {
+        Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "Allocated bytes per thread cannot be measured on this JVM");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported(),
+                "Allocated bytes per thread cannot be measured on this JVM");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+
+    @Test
+    public void testMovementDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = threads();
+        setUpBoard();
+        run(MOVES);
+
+        long start = threads.getCurrentThreadAllocatedBytes();
+        long baseline = threads.getCurrentThreadAllocatedBytes() - start;
+        start = threads.getCurrentThreadAllocatedBytes();
+        run(MOVES);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - start - baseline;
+
+        assertEquals(0, allocated, "Moving the robots should not allocate any objects");
+        assertNotSame(player1.getSpace(), player2.getSpace());
+    }
+
+    /**
+     * Sets up a board with a robot circling on a ring of belts, a robot on a gear and a
+     * board laser, where neither the board laser nor the robots hit any robot (a hit
+     * would add a damage card to a deck, which may grow the deck).
+     */
+    private void setUpElements() {
+        Course course = Courses.dense(8, 8,
+                new Space(null, 5, 5, ActionField.CONVEYOR_BELT, Heading.EAST),
+                new Space(null, 6, 5, ActionField.CONVEYOR_BELT, Heading.SOUTH),
+                new Space(null, 6, 6, ActionField.CONVEYOR_BELT, Heading.WEST),
+                new Space(null, 5, 6, ActionField.CONVEYOR_BELT, Heading.NORTH),
+                new Space(null, 2, 2, ActionField.RIGHT_GEAR, Heading.NORTH),
+                new Space(null, 7, 0, ActionField.BOARD_LASER_START, Heading.NORTH));
+        board = new Board(course, "allocation");
+        gameController = new GameController(board);
+        player1 = new Player(board, "red", "Player 1", gameController);
+        player2 = new Player(board, "blue", "Player 2", gameController);
+        board.addPlayer(player1);
+        board.addPlayer(player2);
+        player1.setSpace(board.getSpace(5, 5));
+        player2.setSpace(board.getSpace(2, 2));
+        board.getSpacesList();
+    }
+
+    private void activate(int registers) {
+        for (int i = 0; i < registers; i++) {
+            gameController.activateSpaces();
+            gameController.fireLasers();
+        }
+    }
+
+    @Test
+    public void testActivationDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = threads();
+        setUpElements();
+        activate(MOVES);
+
+        long start = threads.getCurrentThreadAllocatedBytes();
+        long baseline = threads.getCurrentThreadAllocatedBytes() - start;
+        start = threads.getCurrentThreadAllocatedBytes();
+        activate(MOVES / 10);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - start - baseline;
+
+        assertEquals(0, allocated, "Activating the board elements and firing the lasers should not allocate any objects");
+        assertEquals(0, player1.getDeck().getDiscardPileSize(), "No robot should have been hit");
+        assertEquals(0, player2.getDeck().getDiscardPileSize(), "No robot should have been hit");
+    }
+}
@@ -0,0 +1,176 @@
+package dk.dtu.compute.se.pisd.roborally.controller;
+
+import dk.dtu.compute.se.pisd.roborally.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the movement of the robots, which uses the wall and robot bit sets of the
+ * board, against the movement computed from the spaces (the way it was done before
+ * the bit sets), on random boards with random moves.
+ */
+public class MovementBitsTest {
+
+    private static final int WIDTH = 13;
+    private static final int HEIGHT = 10;
+
+    /**
+     * Moves the robot as before, looking at the spaces only.
+     */
+    private static void moveForwardBySpaces(Board board, Player player, int numSpaces, boolean forward) {
+        int newX = player.getSpace().x;
+        int newY = player.getSpace().y;
+        int directionMultiplier = forward ? 1 : -1;
+        for (int i = 0; i < numSpaces; i++) {
+            switch (player.getHeading()) {
+                case NORTH: newY -= directionMultiplier; break;
+                case EAST:  newX += directionMultiplier; break;
+                case SOUTH: newY += directionMultiplier; break;
+                case WEST:  newX -= directionMultiplier; break;
+            }
+            if (newX < 0 || newX >= board.width || newY < 0 || newY >= board.height) {
+                return;
+            }
+            Space nextSpace = board.getSpace(newX, newY);
+            if (nextSpace.getType() == ActionField.WALL) {
+                return;
+            }
+            if (nextSpace.getPlayer() != null &&
+                    !pushBySpaces(board, nextSpace.getPlayer(), player.getHeading(), directionMultiplier)) {
+                return;
+            }
+            player.setSpace(nextSpace);
+        }
+    }
+
+    private static boolean pushBySpaces(Board board, Player player, Heading heading, int directionMultiplier) {
+        int newX = player.getSpace().x;
+        int newY = player.getSpace().y;
+        switch (heading) {
+            case NORTH: newY -= directionMultiplier; break;
+            case EAST:  newX += directionMultiplier; break;
+            case SOUTH: newY += directionMultiplier; break;
+            case WEST:  newX -= directionMultiplier; break;
+        }
+        if (newX < 0 || newX >= board.width || newY < 0 || newY >= board.height) {
+            return false;
+        }
+        Space nextSpace = board.getSpace(newX, newY);
+        if (nextSpace.getType() == ActionField.WALL) {
+            return false;
+        }
+        if (nextSpace.getPlayer() != null &&
+                !pushBySpaces(board, nextSpace.getPlayer(), heading, directionMultiplier)) {
+            return false;
+        }
+        player.setSpace(nextSpace);
+        return true;
+    }
+
+    private static int lineOfSightBySpaces(Board board, int x, int y, Heading heading) {
+        int count = 0;
+        while (true) {
+            switch (heading) {
+                case NORTH: y--; break;
+                case EAST:  x++; break;
+                case SOUTH: y++; break;
+                case WEST:  x--; break;
+            }
+            if (x < 0 || x >= board.width || y < 0 || y >= board.height) {
+                return count;
+            }
+            Space space = board.getSpace(x, y);
+            if (space.getType() == ActionField.WALL || space.getPlayer() != null) {
+                return count;
+            }
+            count++;
+        }
+    }
+
+    private static List<Player> setUpBoard(Board board, long seed) {
+        Random random = new Random(seed);
+        GameController gameController = new GameController(board);
+        for (int x = 0; x < board.width; x++) {
+            for (int y = 0; y < board.height; y++) {
+                if (random.nextInt(8) == 0) {
+                    board.getSpace(x, y).setType(ActionField.WALL);
+                }
+            }
+        }
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Player player = new Player(board, "red", "Player " + (i + 1), gameController);
+            board.addPlayer(player);
+            Space space;
+            do {
+                space = board.getSpace(random.nextInt(board.width), random.nextInt(board.height));
+            } while (space.getType() == ActionField.WALL || space.getPlayer() != null);
+            player.setSpace(space);
+            player.setHeading(Heading.values()[random.nextInt(4)]);
+            players.add(player);
+        }
+        return players;
+    }
+
+    @Test
+    public void testMovementAgreesWithSpaces() {
+        for (long seed = 0; seed < 50; seed++) {
+            Board board = new Board(WIDTH, HEIGHT);
+            Board reference = new Board(WIDTH, HEIGHT);
+            List<Player> players = setUpBoard(board, seed);
+            List<Player> referencePlayers = setUpBoard(reference, seed);
+            GameController gameController = new GameController(board);
+
+            Random random = new Random(seed);
+            for (int move = 0; move < 200; move++) {
+                int p = random.nextInt(players.size());
+                int numSpaces = 1 + random.nextInt(3);
+                boolean forward = random.nextInt(4) != 0;
+                Heading heading = Heading.values()[random.nextInt(4)];
+                players.get(p).setHeading(heading);
+                referencePlayers.get(p).setHeading(heading);
+
+                gameController.moveForward(players.get(p), numSpaces, forward);
+                moveForwardBySpaces(reference, referencePlayers.get(p), numSpaces, forward);
+
+                for (int i = 0; i < players.size(); i++) {
+                    Space space = players.get(i).getSpace();
+                    Space referenceSpace = referencePlayers.get(i).getSpace();
+                    assertEquals(referenceSpace.x, space.x, "seed " + seed + ", move " + move);
+                    assertEquals(referenceSpace.y, space.y, "seed " + seed + ", move " + move);
+                }
+            }
+
+            for (int x = 0; x < WIDTH; x++) {
+                for (int y = 0; y < HEIGHT; y++) {
+                    Space space = board.getSpace(x, y);
+                    assertEquals(space.getType() == ActionField.WALL, board.isWall(x, y));
+                    assertEquals(space.getPlayer() != null, board.isOccupied(x, y));
+                    for (Heading heading : Heading.values()) {
+                        assertEquals(lineOfSightBySpaces(board, x, y, heading), board.getLineOfSight(x, y, heading),
+                                "seed " + seed + ", line of sight from " + x + "," + y + " " + heading);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testLineOfSightAcrossWords() {
+        // rows longer than a word of the bit sets
+        Board board = new Board(150, 3);
+        board.getSpace(140, 1).setType(ActionField.WALL);
+        board.getSpace(3, 1).setType(ActionField.WALL);
+
+        assertEquals(139 - 70, board.getLineOfSight(70, 1, Heading.EAST));
+        assertEquals(70 - 4, board.getLineOfSight(70, 1, Heading.WEST));
+        assertEquals(149 - 141, board.getLineOfSight(141, 1, Heading.EAST));
+        assertEquals(2, board.getLineOfSight(2, 1, Heading.WEST));
+        assertEquals(0, board.getLineOfSight(139, 1, Heading.EAST));
+    }
+}
@@ -0,0 +1,93 @@
+package dk.dtu.compute.se.pisd.roborally.controller;
+
+import dk.dtu.compute.se.pisd.roborally.model.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures casting the laser rays of six robots on a board with some walls
+ * (see {@link Board#getRobotInSight(int, int, Heading)}), compared to walking
+ * along the spaces of the board, as the robot lasers were once designed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RobotLaserBenchmark {
+
+    private Board board;
+
+    private Player[] players;
+
+    @Setup
+    public void setUp() {
+        board = new Board(100, 100);
+        GameController gameController = new GameController(board);
+        Random random = new Random(42);
+        for (int i = 0; i < 300; i++) {
+            board.getSpace(random.nextInt(board.width), random.nextInt(board.height)).setType(ActionField.WALL);
+        }
+        players = new Player[6];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = new Player(board, "red", "Player " + (i + 1), gameController);
+            board.addPlayer(players[i]);
+            Space space;
+            do {
+                space = board.getSpace(random.nextInt(board.width), random.nextInt(board.height));
+            } while (space.getType() == ActionField.WALL || space.getPlayer() != null);
+            players[i].setSpace(space);
+            players[i].setHeading(Heading.values()[i % 4]);
+        }
+        board.getSpacesList();
+    }
+
+    @Benchmark
+    public int rayCast() {
+        int hits = 0;
+        for (Player player : players) {
+            Space space = player.getSpace();
+            if (board.getRobotInSight(space.x, space.y, player.getHeading()) != null) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int spaceWalk() {
+        int hits = 0;
+        for (Player player : players) {
+            Heading heading = player.getHeading();
+            int x = player.getSpace().x + heading.dx();
+            int y = player.getSpace().y + heading.dy();
+            while (x >= 0 && x < board.width && y >= 0 && y < board.height) {
+                Space space = board.getSpace(x, y);
+                if (space.getType() == ActionField.WALL) {
+                    break;
+                }
+                if (space.getPlayer() != null) {
+                    hits++;
+                    break;
+                }
+                x += heading.dx();
+                y += heading.dy();
+            }
+        }
+        return hits;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RobotLaserBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,57 @@
+package dk.dtu.compute.se.pisd.roborally.model;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandCardTest {
+
+    @Test
+    public void testCardsAreShared() {
+        for (Command command : Command.values()) {
+            for (String type : new String[] {"program", "upgrade", "damage"}) {
+                CommandCard card = CommandCard.of(command, type);
+                assertSame(card, CommandCard.of(command, type));
+                assertSame(card, CommandCard.get(card.handle));
+                assertEquals(command, card.command);
+                assertEquals(type, card.getType());
+            }
+        }
+        assertNotSame(CommandCard.of(Command.RECHARGE, "program"), CommandCard.of(Command.RECHARGE, "upgrade"));
+    }
+
+    @Test
+    public void testHandlesAreDistinct() {
+        boolean[] used = new boolean[CommandCard.HANDLES];
+        for (Command command : Command.values()) {
+            for (String type : new String[] {"program", "upgrade", "damage"}) {
+                int handle = CommandCard.of(command, type).handle;
+                assertFalse(used[handle], "Each card should have its own handle.");
+                used[handle] = true;
+            }
+        }
+    }
+
+    @Test
+    public void testUnknownType() {
+        assertThrows(IllegalArgumentException.class, () -> CommandCard.of(Command.FORWARD, "joker"));
+    }
+
+    @Test
+    public void testCardsAreLoadedAsSharedCards() {
+        Gson gson = new GsonBuilder().excludeFieldsWithoutExposeAnnotation().create();
+        CommandCardField field = new CommandCardField(null, "upgrade");
+        field.setCard(CommandCard.of(Command.RECHARGE, "upgrade"));
+
+        assertEquals("{\"command\":\"RECHARGE\",\"type\":\"upgrade\"}", gson.toJson(field.getCardOrNull()),
+                "The type of the card should be saved.");
+        CommandCardField loaded = gson.fromJson(gson.toJson(field), CommandCardField.class);
+        assertSame(CommandCard.of(Command.RECHARGE, "upgrade"), loaded.getCardOrNull());
+
+        CommandCard old = gson.fromJson("{\"command\":\"FORWARD\"}", CommandCard.class);
+        assertSame(CommandCard.of(Command.FORWARD, "program"), old, "Cards saved without a type are programming cards.");
+        assertNull(gson.fromJson("null", CommandCard.class));
+    }
+}
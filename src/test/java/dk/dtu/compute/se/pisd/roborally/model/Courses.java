@@ -0,0 +1,36 @@
+package dk.dtu.compute.se.pisd.roborally.model;
+
+import java.util.ArrayList;
+
+/**
+ * Creates the courses used by the tests and benchmarks.
+ */
+public final class Courses {
+
+    private Courses() {
+    }
+
+    /**
+     * Creates a course which lists all its spaces (i.e. which is not sparse), where
+     * the given tiles replace the normal spaces at their coordinates.
+     *
+     * @param width the width of the course
+     * @param height the height of the course
+     * @param tiles the spaces other than normal spaces
+     * @return the course
+     */
+    public static Course dense(int width, int height, Space... tiles) {
+        Course course = new Course(width, height);
+        for (int y = 0; y < height; y++) {
+            ArrayList<Space> row = new ArrayList<>();
+            for (int x = 0; x < width; x++) {
+                row.add(new Space(null, x, y));
+            }
+            course.getSpaces().add(row);
+        }
+        for (Space tile : tiles) {
+            course.getSpaces().get(tile.y).set(tile.x, tile);
+        }
+        return course;
+    }
+}
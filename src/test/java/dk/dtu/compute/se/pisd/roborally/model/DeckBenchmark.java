@@ -0,0 +1,133 @@
+package dk.dtu.compute.se.pisd.roborally.model;
+
+import dk.dtu.compute.se.pisd.roborally.controller.GameController;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the deck traffic of a full game of twelve rounds with six players:
+ * in every round, each player is dealt a hand of cards, which is discarded at
+ * the end of the round. The decks are created once, so that only dealing,
+ * discarding and shuffling are measured, and not the generation of the cards.
+ * The {@link Deck} is compared to the list based deck it replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeckBenchmark {
+
+    private static final int PLAYERS = 6;
+    private static final int ROUNDS = 12;
+
+    private Deck[] decks;
+
+    private ListDeck[] listDecks;
+
+    private final CommandCard[] hand = new CommandCard[Player.NO_CARDS];
+
+    /**
+     * The deck as it was implemented with lists, before it was replaced by the
+     * ring buffer of {@link Deck}.
+     */
+    private static class ListDeck {
+
+        private final ArrayList<CommandCard> deck = new ArrayList<>();
+        private final ArrayList<CommandCard> discardPile = new ArrayList<>();
+        private final GameController gameController;
+        private final SplittableRandom random;
+
+        ListDeck(GameController gameController) {
+            this.gameController = gameController;
+            this.random = gameController.splitRandom();
+            for (int i = 0; i < 52; i++) {
+                deck.add(gameController.generateRandomCommandCard(random));
+            }
+        }
+
+        void shuffleDeck() {
+            for (int i = 0; i < discardPile.size(); i++) {
+                deck.add(discardPile.remove(random.nextInt(discardPile.size())));
+            }
+        }
+
+        void sendToDiscardPile(CommandCard card) {
+            discardPile.add(card);
+        }
+
+        CommandCard deal() {
+            if (deck.size() != 8) {
+                shuffleDeck();
+            }
+            if (deck.isEmpty()) {
+                for (int i = 0; i < 52; i++) {
+                    deck.add(gameController.generateRandomCommandCard(random));
+                }
+            }
+            return deck.remove(deck.size() - 1);
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        GameController gameController = new GameController(new Board(8, 8), null, 42);
+        decks = new Deck[PLAYERS];
+        listDecks = new ListDeck[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            decks[i] = new Deck("program", gameController);
+            listDecks[i] = new ListDeck(gameController);
+        }
+    }
+
+    @Benchmark
+    public int ringBuffer() {
+        int commands = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < PLAYERS; i++) {
+                Deck deck = decks[i];
+                for (int j = 0; j < hand.length; j++) {
+                    hand[j] = deck.deal();
+                    commands += hand[j].command.ordinal();
+                }
+                for (int j = 0; j < hand.length; j++) {
+                    deck.sendToDiscardPile(hand[j]);
+                }
+            }
+        }
+        return commands;
+    }
+
+    @Benchmark
+    public int lists() {
+        int commands = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < PLAYERS; i++) {
+                ListDeck deck = listDecks[i];
+                for (int j = 0; j < hand.length; j++) {
+                    hand[j] = deck.deal();
+                    commands += hand[j].command.ordinal();
+                }
+                for (int j = 0; j < hand.length; j++) {
+                    deck.sendToDiscardPile(hand[j]);
+                }
+            }
+        }
+        return commands;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DeckBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
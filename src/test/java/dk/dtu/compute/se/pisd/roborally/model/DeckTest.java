@@ -0,0 +1,91 @@
+package dk.dtu.compute.se.pisd.roborally.model;
+
+import dk.dtu.compute.se.pisd.roborally.controller.GameController;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeckTest {
+
+    private GameController gameController;
+
+    @BeforeEach
+    public void setUp() {
+        gameController = new GameController(new Board(8, 8), null, 42);
+    }
+
+    private static Map<Command, Integer> count(CommandCard[] cards) {
+        Map<Command, Integer> counts = new EnumMap<>(Command.class);
+        for (CommandCard card : cards) {
+            counts.merge(card.command, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    @Test
+    public void testDiscardPileIsShuffledIntoDrawPile() {
+        Deck deck = new Deck("program", gameController);
+        assertEquals(52, deck.getDrawPileSize());
+
+        CommandCard[] dealt = new CommandCard[52];
+        for (int i = 0; i < dealt.length; i++) {
+            dealt[i] = deck.deal();
+            deck.sendToDiscardPile(dealt[i]);
+        }
+        assertEquals(0, deck.getDrawPileSize());
+        assertEquals(52, deck.getDiscardPileSize());
+
+        CommandCard[] shuffled = new CommandCard[52];
+        for (int i = 0; i < shuffled.length; i++) {
+            shuffled[i] = deck.deal();
+        }
+        assertEquals(0, deck.getDrawPileSize());
+        assertEquals(0, deck.getDiscardPileSize());
+        assertEquals(count(dealt), count(shuffled), "The shuffled deck should consist of the discarded cards.");
+    }
+
+    @Test
+    public void testDamageCardsGrowTheDeck() {
+        Deck deck = new Deck("program", gameController);
+        for (int i = 0; i < 100; i++) {
+            deck.sendToDiscardPile(gameController.generateDamageCard());
+        }
+        deck.addToDeck(gameController.generateDamageCard());
+        assertEquals(53, deck.getDrawPileSize());
+        assertEquals(100, deck.getDiscardPileSize());
+
+        CommandCard[] dealt = new CommandCard[153];
+        for (int i = 0; i < dealt.length; i++) {
+            dealt[i] = deck.deal();
+        }
+        assertEquals(0, deck.getDrawPileSize());
+        assertEquals(0, deck.getDiscardPileSize());
+        Map<Command, Integer> counts = count(dealt);
+        assertEquals(101, counts.get(Command.SPAM));
+        assertEquals(52, dealt.length - counts.get(Command.SPAM));
+        assertEquals("damage", dealt[152].getType());
+    }
+
+    @Test
+    public void testAddToDeckInsertsAtRandomPosition() {
+        boolean[] positions = new boolean[53];
+        int distinct = 0;
+        for (int i = 0; i < 20; i++) {
+            Deck deck = new Deck("program", gameController);
+            deck.addToDeck(gameController.generateDamageCard());
+            int position = 0;
+            while (deck.deal().command != Command.SPAM) {
+                position++;
+            }
+            if (!positions[position]) {
+                positions[position] = true;
+                distinct++;
+            }
+        }
+        assertTrue(distinct > 1, "The card should not always be inserted at the same position.");
+    }
+}
@@ -0,0 +1,68 @@
+package dk.dtu.compute.se.pisd.roborally.model;
+
+import dk.dtu.compute.se.pisd.roborally.controller.GameController;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares moving a robot by a conveyor belt with the compiled {@link ElementTransitions}
+ * to moving it the way {@link Space#activate()} did before: turning the robot into the
+ * direction of the belt, moving it step by step and turning it back. The robot circles
+ * on a ring of four belts, so that every operation moves it by one space.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ElementTransitionsBenchmark {
+
+    private Player player;
+
+    private ElementTransitions transitions;
+
+    @Setup
+    public void setUp() {
+        Course course = Courses.dense(8, 8,
+                new Space(null, 3, 3, ActionField.CONVEYOR_BELT, Heading.EAST),
+                new Space(null, 4, 3, ActionField.CONVEYOR_BELT, Heading.SOUTH),
+                new Space(null, 4, 4, ActionField.CONVEYOR_BELT, Heading.WEST),
+                new Space(null, 3, 4, ActionField.CONVEYOR_BELT, Heading.NORTH));
+
+        Board board = new Board(course, "benchmark");
+        GameController gameController = new GameController(board);
+        player = new Player(board, "red", "Player 1", gameController);
+        board.addPlayer(player);
+        player.setSpace(board.getSpace(3, 3));
+        transitions = board.getTransitions();
+    }
+
+    @Benchmark
+    public Space transitionTable() {
+        transitions.apply(player.getSpace());
+        return player.getSpace();
+    }
+
+    @Benchmark
+    public Space stepwise() {
+        Space space = player.getSpace();
+        Heading oldHeading = player.getHeading();
+        player.setHeading(space.getHeading());
+        player.move(1);
+        player.setHeading(oldHeading);
+        return player.getSpace();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ElementTransitionsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
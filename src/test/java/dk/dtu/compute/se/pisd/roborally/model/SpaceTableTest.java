@@ -0,0 +1,79 @@
+package dk.dtu.compute.se.pisd.roborally.model;
+
+import dk.dtu.compute.se.pisd.designpatterns.observer.Observer;
+import dk.dtu.compute.se.pisd.roborally.controller.GameController;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpaceTableTest {
+
+    private final Observer observer = subject -> { };
+
+    private static void collectGarbage(WeakReference<?> reference) throws InterruptedException {
+        for (int i = 0; i < 20 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void testUnusedSpacesAreDropped() throws InterruptedException {
+        SpaceTable table = new SpaceTable();
+        List<Space> unused = new ArrayList<>();
+        for (int cell = 0; cell < 2000; cell++) {
+            Space space = new Space(null, cell, 0);
+            if (cell % 2 == 0) {
+                space.attach(observer);
+            } else {
+                unused.add(space);
+            }
+            table.put(cell, space);
+        }
+        assertEquals(2000, table.size());
+        for (int cell = 0; cell < 2000; cell++) {
+            assertEquals(cell, table.get(cell).x);
+        }
+
+        WeakReference<Space> reference = new WeakReference<>(unused.get(0));
+        unused.clear();
+        collectGarbage(reference);
+        assertNull(reference.get());
+        assertEquals(1000, table.size(), "Only the observed spaces should be kept.");
+        for (int cell = 0; cell < 2000; cell += 2) {
+            assertEquals(cell, table.get(cell).x, "The observed spaces should still be found.");
+        }
+    }
+
+    @Test
+    public void testSparseBoardKeepsOccupiedAndObservedSpacesOnly() throws InterruptedException {
+        Course course = new Course(4000, 4000);
+        course.addTile(new Space(null, 10, 20, ActionField.CONVEYOR_BELT, Heading.EAST));
+        Board board = new Board(course, "marathon");
+        Player player = new Player(board, "red", "Player 1", new GameController(board));
+        board.addPlayer(player);
+        player.setSpace(board.getSpace(1, 1));
+        board.getSpace(2, 2).attach(observer);
+
+        WeakReference<Space> occupied = new WeakReference<>(board.getSpace(1, 1));
+        WeakReference<Space> observed = new WeakReference<>(board.getSpace(2, 2));
+        WeakReference<Space> unused = new WeakReference<>(board.getSpace(3, 3));
+        WeakReference<Space> special = new WeakReference<>(board.getSpace(10, 20));
+        player.setSpace(board.getSpace(4, 4));
+        occupied.get().attach(observer);
+        occupied.get().detach(observer);
+
+        collectGarbage(unused);
+        assertNull(unused.get(), "An unused space should not be kept by the board.");
+        assertNull(special.get(), "An unused special space should not be kept by the board.");
+        assertNull(occupied.get(), "A space which was left should not be kept by the board.");
+        assertSame(observed.get(), board.getSpace(2, 2));
+        assertSame(player, board.getSpace(4, 4).getPlayer());
+        assertEquals(ActionField.CONVEYOR_BELT, board.getSpace(10, 20).getType());
+        assertEquals(Heading.EAST, board.getSpace(10, 20).getHeading());
+    }
+}
@@ -0,0 +1,74 @@
+package dk.dtu.compute.se.pisd.roborally.model;
+
+import dk.dtu.compute.se.pisd.roborally.controller.GameController;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TileGridTest {
+
+    @Test
+    public void testSparseAndDenseGridsAgree() {
+        TileGrid dense = TileGrid.dense(50, 37);
+        TileGrid sparse = TileGrid.sparse(50, 37);
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            int cell = random.nextInt(50 * 37);
+            ActionField type = ActionField.values()[random.nextInt(ActionField.values().length)];
+            Heading heading = Heading.values()[random.nextInt(4)];
+            int index = random.nextInt(TileGrid.MAX_INDEX + 1);
+            dense.set(cell, type, heading, index);
+            sparse.set(cell, type, heading, index);
+        }
+        for (int cell = 0; cell < 50 * 37; cell++) {
+            assertEquals(dense.getType(cell), sparse.getType(cell));
+            assertEquals(dense.getHeading(cell), sparse.getHeading(cell));
+            assertEquals(dense.getIndex(cell), sparse.getIndex(cell));
+        }
+        assertArrayEquals(dense.getSpecialCells(), sparse.getSpecialCells());
+    }
+
+    @Test
+    public void testSparseBoard() {
+        Course course = new Course(4000, 4000);
+        course.addTile(new Space(null, 3999, 3999, 1));
+        course.addTile(new Space(null, 10, 20, ActionField.CONVEYOR_BELT, Heading.EAST));
+        course.addTile(new Space(null, 11, 20, ActionField.RIGHT_GEAR, Heading.NORTH));
+        Board board = new Board(course, "marathon");
+
+        ChunkedTileGrid tiles = (ChunkedTileGrid) board.getTiles();
+        assertEquals(2, tiles.getAllocatedChunks(), "Only the chunks with special tiles should be allocated.");
+        assertEquals(1, board.getElementCount(ActionField.CHECKPOINT));
+        assertEquals(1, board.getSpace(3999, 3999).getIndex());
+        assertEquals(ActionField.NORMAL, board.getSpace(2000, 2000).getType());
+
+        GameController gameController = new GameController(board);
+        Player player = new Player(board, "red", "Player 1", gameController);
+        board.addPlayer(player);
+        player.setSpace(board.getSpace(10, 20));
+        player.setHeading(Heading.NORTH);
+        gameController.activateSpaces();
+
+        assertEquals(board.getSpace(11, 20), player.getSpace(), "The belt should move the robot onto the gear.");
+        assertEquals(Heading.EAST, player.getHeading(), "The gear should turn the robot.");
+    }
+
+    @Test
+    public void testCellBitsAllocateBlocksOnDemand() {
+        CellBits bits = new CellBits(4000 * 4000);
+        assertEquals(0, bits.getAllocatedBlocks());
+        bits.set(0);
+        bits.set(63);
+        bits.set(4000 * 4000 - 1);
+        bits.clear(12345);
+        assertEquals(2, bits.getAllocatedBlocks(), "Only the blocks with bits set should be allocated.");
+        assertTrue(bits.get(63));
+        assertFalse(bits.get(64));
+        assertEquals(1L | 1L << 63, bits.word(0));
+        bits.clear(63);
+        assertFalse(bits.get(63));
+        assertTrue(bits.get(4000 * 4000 - 1));
+    }
+}
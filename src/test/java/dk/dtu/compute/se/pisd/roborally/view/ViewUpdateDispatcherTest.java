@@ -0,0 +1,70 @@
+package dk.dtu.compute.se.pisd.roborally.view;
+
+import dk.dtu.compute.se.pisd.designpatterns.observer.Change;
+import dk.dtu.compute.se.pisd.designpatterns.observer.Subject;
+import dk.dtu.compute.se.pisd.roborally.model.GameChange;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ViewUpdateDispatcherTest {
+
+    private static class TestSubject extends Subject {
+    }
+
+    private static class TestObserver implements ViewObserver {
+
+        final List<Subject> subjects = new ArrayList<>();
+        final List<Change> changes = new ArrayList<>();
+
+        @Override
+        public void updateView(Subject subject) {
+            updateView(subject, Change.ANY);
+        }
+
+        @Override
+        public void updateView(Subject subject, Change change) {
+            subjects.add(subject);
+            changes.add(change);
+        }
+    }
+
+    @Test
+    public void testPendingUpdatesAreMerged() {
+        // the dispatcher is not started by the JavaFX toolkit in this test,
+        // so the pending updates are flushed explicitly
+        while (ViewUpdateDispatcher.flush()) {
+        }
+        long posted = ViewUpdateDispatcher.getPostedCount();
+        long merged = ViewUpdateDispatcher.getMergedCount();
+        long dispatched = ViewUpdateDispatcher.getDispatchedCount();
+
+        TestObserver observer = new TestObserver();
+        Subject player = new TestSubject();
+        Subject space = new TestSubject();
+        assertTrue(ViewUpdateDispatcher.enqueue(observer, player, GameChange.HEADING),
+                "The first update should start the timer.");
+        assertFalse(ViewUpdateDispatcher.enqueue(observer, space, GameChange.PLAYER));
+        assertFalse(ViewUpdateDispatcher.enqueue(observer, player, GameChange.HEADING));
+        assertFalse(ViewUpdateDispatcher.enqueue(observer, space, GameChange.TYPE));
+        assertFalse(ViewUpdateDispatcher.enqueue(observer, space, GameChange.PLAYER));
+
+        assertTrue(ViewUpdateDispatcher.flush());
+        assertEquals(List.of(player, space), observer.subjects, "Each subject should be updated once.");
+        assertEquals(List.of(GameChange.HEADING, Change.ANY), observer.changes,
+                "Different changes of the same subject should be merged to ANY.");
+        assertEquals(posted + 5, ViewUpdateDispatcher.getPostedCount());
+        assertEquals(merged + 3, ViewUpdateDispatcher.getMergedCount());
+        assertEquals(dispatched + 2, ViewUpdateDispatcher.getDispatchedCount());
+
+        assertFalse(ViewUpdateDispatcher.flush(), "The timer should stop when nothing is pending.");
+        assertEquals(2, observer.subjects.size());
+        assertTrue(ViewUpdateDispatcher.enqueue(observer, player, GameChange.HEADING),
+                "The timer should be started again with the next update.");
+        assertTrue(ViewUpdateDispatcher.flush());
+        assertFalse(ViewUpdateDispatcher.flush());
+    }
+}